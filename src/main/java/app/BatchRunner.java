@@ -0,0 +1,322 @@
+package app;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Runs add/update/delete operations from a script on a pool of workers. Each worker has its own
+// EntityManager and commits every batchSize operations. Operations on the same id always go to the
+// same worker, so they run in script order. A failed batch is replayed one operation per transaction,
+// on a new EntityManager, to find the failing lines; the rest of the batch is still applied.
+//
+// Script lines (blank lines and # comments are skipped, fields cannot contain commas):
+//   add,<name>,<course>,<fee>
+//   update,<id>,<name>,<course>,<fee>     empty fields keep the current value, e.g. update,42,,,1500
+//   delete,<id>
+public class BatchRunner {
+
+    // Operations buffered per worker while the script is read
+    private static final int QUEUE_CAPACITY = 10000;
+    private static final Operation END = new Operation(0, null, null, 0, null, null, null);
+
+    private final EntityManagerFactory emf;
+    private final int workers;
+    private final int batchSize;
+
+    public BatchRunner(EntityManagerFactory emf, int workers, int batchSize) {
+        this.emf = emf;
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public Report run(BufferedReader script) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Report report = new Report();
+        List<BlockingQueue<Operation>> queues = new ArrayList<>();
+        List<Future<Report>> results = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                BlockingQueue<Operation> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+                queues.add(queue);
+                results.add(pool.submit(() -> work(queue)));
+            }
+
+            int lineNumber = 0;
+            int nextAdd = 0;
+            String line;
+            while ((line = script.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.trim().startsWith("#")) {
+                    continue;
+                }
+                Operation operation;
+                try {
+                    operation = Operation.parse(lineNumber, line);
+                } catch (IllegalArgumentException e) {
+                    report.failed(lineNumber, line, e.getMessage());
+                    continue;
+                }
+                int worker = operation.type == Type.ADD ? nextAdd++ % workers : Math.floorMod(operation.id, workers);
+                // A worker that died would never drain its queue, surface its error instead of waiting forever
+                while (!queues.get(worker).offer(operation, 1, TimeUnit.SECONDS)) {
+                    if (results.get(worker).isDone()) {
+                        results.get(worker).get();
+                    }
+                }
+            }
+            for (BlockingQueue<Operation> queue : queues) {
+                queue.put(END);
+            }
+
+            for (Future<Report> result : results) {
+                report.add(result.get());
+            }
+            report.failures.sort(Comparator.comparingInt(failure -> failure.line));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A batch worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private Report work(BlockingQueue<Operation> queue) throws InterruptedException {
+        Report report = new Report();
+        EntityManager em = emf.createEntityManager();
+        try {
+            List<Operation> batch = new ArrayList<>(batchSize);
+            for (Operation operation = queue.take(); operation != END; operation = queue.take()) {
+                batch.add(operation);
+                if (batch.size() == batchSize) {
+                    em = commit(em, batch, report);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                em = commit(em, batch, report);
+            }
+        } finally {
+            em.close();
+        }
+        return report;
+    }
+
+    // One transaction for the whole batch, or one per operation if the batch fails. Returns the
+    // EntityManager to carry on with: a failed flush or commit leaves the session unusable, so after
+    // a failure it is closed and the replay and later batches get a fresh one.
+    private EntityManager commit(EntityManager em, List<Operation> batch, Report report) {
+        List<Failure> notFound = new ArrayList<>();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+            preload(em, batch);
+            for (Operation operation : batch) {
+                if (!apply(em, operation)) {
+                    notFound.add(new Failure(operation.line, operation.text, "Student not found with ID: " + operation.id));
+                }
+            }
+            tx.commit();
+            report.succeeded += batch.size() - notFound.size();
+            report.failures.addAll(notFound);
+            // Nothing stays managed between batches
+            em.clear();
+            return em;
+        } catch (RuntimeException e) {
+            try {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+            } finally {
+                em.close();
+            }
+            EntityManager fresh = emf.createEntityManager();
+            if (batch.size() == 1) {
+                report.failed(batch.get(0).line, batch.get(0).text, rootMessage(e));
+                return fresh;
+            }
+            for (Operation operation : batch) {
+                fresh = commit(fresh, List.of(operation), report);
+            }
+            return fresh;
+        }
+    }
+
+    // Load the students the batch updates or deletes with one query instead of a find per operation
+    private static void preload(EntityManager em, List<Operation> batch) {
+        List<Integer> ids = new ArrayList<>();
+        for (Operation operation : batch) {
+            if (operation.type != Type.ADD) {
+                ids.add(operation.id);
+            }
+        }
+        if (ids.size() > 1) {
+            em.createQuery("from Student s where s.id in :ids", Student.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+        }
+    }
+
+    private static boolean apply(EntityManager em, Operation operation) {
+        if (operation.type == Type.ADD) {
+            em.persist(new Student(operation.name, operation.course, operation.fee));
+            return true;
+        }
+        Student student = em.find(Student.class, operation.id);
+        if (student == null) {
+            return false;
+        }
+        if (operation.type == Type.DELETE) {
+            em.remove(student);
+            return true;
+        }
+        if (operation.name != null) {
+            student.setName(operation.name);
+        }
+        if (operation.course != null) {
+            student.setCourse(operation.course);
+        }
+        if (operation.feeGiven) {
+            student.setFee(operation.fee);
+        }
+        return true;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    enum Type { ADD, UPDATE, DELETE }
+
+    private static final class Operation {
+        private final int line;
+        private final Type type;
+        private final String text;
+        private final int id;
+        private final String name;
+        private final String course;
+        private final double fee;
+        private final boolean feeGiven;
+
+        private Operation(int line, Type type, String text, int id, String name, String course, Double fee) {
+            this.line = line;
+            this.type = type;
+            this.text = text;
+            this.id = id;
+            this.name = name;
+            this.course = course;
+            this.fee = fee != null ? fee : 0;
+            this.feeGiven = fee != null;
+        }
+
+        static Operation parse(int line, String text) {
+            String[] fields = text.split(",", -1);
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = fields[i].trim();
+            }
+            switch (fields[0].toLowerCase()) {
+                case "add":
+                    expect(fields, 4, "add,<name>,<course>,<fee>");
+                    if (fields[1].isEmpty() || fields[2].isEmpty() || fields[3].isEmpty()) {
+                        throw new IllegalArgumentException("add needs a name, course and fee");
+                    }
+                    return new Operation(line, Type.ADD, text, 0, fields[1], fields[2], number(fields[3]));
+                case "update":
+                    expect(fields, 5, "update,<id>,<name>,<course>,<fee>");
+                    return new Operation(line, Type.UPDATE, text, id(fields[1]), blankToNull(fields[2]), blankToNull(fields[3]),
+                            fields[4].isEmpty() ? null : number(fields[4]));
+                case "delete":
+                    expect(fields, 2, "delete,<id>");
+                    return new Operation(line, Type.DELETE, text, id(fields[1]), null, null, null);
+                default:
+                    throw new IllegalArgumentException("Unknown operation '" + fields[0] + "', use add, update or delete");
+            }
+        }
+
+        private static void expect(String[] fields, int count, String usage) {
+            if (fields.length != count) {
+                throw new IllegalArgumentException("Expected " + usage);
+            }
+        }
+
+        private static int id(String value) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid id: " + value);
+            }
+        }
+
+        private static double number(String value) {
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid fee: " + value);
+            }
+        }
+
+        private static String blankToNull(String value) {
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    public static final class Failure {
+        private final int line;
+        private final String text;
+        private final String message;
+
+        private Failure(int line, String text, String message) {
+            this.line = line;
+            this.text = text;
+            this.message = message;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + text + " -> " + message;
+        }
+    }
+
+    public static final class Report {
+        private long succeeded;
+        private final List<Failure> failures = new ArrayList<>();
+        private long elapsedNanos;
+
+        void failed(int line, String text, String message) {
+            failures.add(new Failure(line, text, message));
+        }
+
+        void add(Report other) {
+            succeeded += other.succeeded;
+            failures.addAll(other.failures);
+        }
+
+        public long getSucceeded() { return succeeded; }
+        public List<Failure> getFailures() { return failures; }
+
+        public String summary() {
+            long total = succeeded + failures.size();
+            double seconds = elapsedNanos / 1e9;
+            return String.format("Processed %,d operations in %.1fs (%,.0f ops/s): %,d succeeded, %,d failed",
+                    total, seconds, total / Math.max(seconds, 1e-9), succeeded, failures.size());
+        }
+    }
+}
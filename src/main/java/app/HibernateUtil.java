@@ -3,17 +3,38 @@ package app;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class HibernateUtil {
     private static final EntityManagerFactory entityManagerFactory;
 
     static {
         try {
-            entityManagerFactory = Persistence.createEntityManagerFactory("myPersistence");
+            Map<String, Object> overrides = new HashMap<>();
+            overrides.put("hibernate.hikari.maximumPoolSize", String.valueOf(poolSize()));
+            // -Dhibernate.* and -Djakarta.persistence.* override persistence.xml (e.g. -Dhibernate.show_sql=true)
+            System.getProperties().forEach((key, value) -> {
+                if (key.toString().startsWith("hibernate.") || key.toString().startsWith("jakarta.persistence.")) {
+                    overrides.put(key.toString(), value);
+                }
+            });
+            entityManagerFactory = Persistence.createEntityManagerFactory("myPersistence", overrides);
         } catch (Throwable e) {
             throw new ExceptionInInitializerError(e);
         }
     }
 
+    // -Ddb.pool.maxSize, otherwise cores * 2 + 1 capped by -Ddb.maxConnections (default 20)
+    static int poolSize() {
+        Integer configured = Integer.getInteger("db.pool.maxSize");
+        if (configured != null) {
+            return configured;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        return Math.max(2, Math.min(cores * 2 + 1, Integer.getInteger("db.maxConnections", 20)));
+    }
+
     public static EntityManagerFactory getEntityManagerFactory() {
         return entityManagerFactory;
     }
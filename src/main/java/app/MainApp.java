@@ -1,10 +1,16 @@
 package app;
 
-import java.util.List;
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.InputStreamReader;
 import java.util.Scanner;
 
 public class MainApp {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            System.exit(runScript(args));
+        }
+
         Scanner sc = new Scanner(System.in);
         StudentDAO dao = new StudentDAO();
         int choice;
@@ -32,11 +38,9 @@ public class MainApp {
                     break;
 
                 case 2:
-                    List<Student> students = dao.getAllStudents();
                     System.out.println("ID\tName\tCourse\tFee");
-                    for (Student s : students) {
-                        System.out.println(s.getId() + "\t" + s.getName() + "\t" + s.getCourse() + "\t" + s.getFee());
-                    }
+                    dao.forEachStudent(s ->
+                            System.out.println(s.getId() + "\t" + s.getName() + "\t" + s.getCourse() + "\t" + s.getFee()));
                     break;
 
                 case 3:
@@ -59,7 +63,6 @@ public class MainApp {
                     break;
 
                 case 5:
-                    dao.close();
                     HibernateUtil.shutDown();
                     System.out.println("Exiting...");
                     break;
@@ -71,4 +74,43 @@ public class MainApp {
 
         sc.close();
     }
+
+    // Headless mode: MainApp --script <file|-> [--workers N] [--batch-size N], see BatchRunner for the format.
+    // Exits with 1 if any operation failed, 2 on bad arguments.
+    private static int runScript(String[] args) throws Exception {
+        String script = null;
+        int workers = HibernateUtil.poolSize();
+        int batchSize = 500;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--script": script = args[++i]; break;
+                    case "--workers": workers = Integer.parseInt(args[++i]); break;
+                    case "--batch-size": batchSize = Integer.parseInt(args[++i]); break;
+                    default: throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (script == null) {
+                throw new IllegalArgumentException("--script is required");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Usage: MainApp --script <file|-> [--workers N] [--batch-size N] (" + e.getMessage() + ")");
+            return 2;
+        }
+
+        BatchRunner.Report report;
+        try (BufferedReader input = script.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : new BufferedReader(new FileReader(script))) {
+            report = new BatchRunner(HibernateUtil.getEntityManagerFactory(), workers, batchSize).run(input);
+        } finally {
+            HibernateUtil.shutDown();
+        }
+
+        for (BatchRunner.Failure failure : report.getFailures()) {
+            System.err.println(failure);
+        }
+        System.out.println(report.summary() + " with " + workers + " workers, batches of " + batchSize);
+        return report.getFailures().isEmpty() ? 0 : 1;
+    }
 }
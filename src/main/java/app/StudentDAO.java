@@ -1,59 +1,139 @@
 package app;
 
 import jakarta.persistence.*;
-import java.util.List;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+// Every operation uses its own short-lived EntityManager (and pooled connection), so nothing stays
+// managed between calls: reads always see the database and memory does not grow with the session.
 public class StudentDAO {
 
-    private EntityManager em;
+    // Matches hibernate.jdbc.batch_size in persistence.xml: one JDBC batch per flush
+    static final int BATCH_SIZE = Integer.getInteger("db.batchSize", 50);
+    // Rows per transaction in a bulk add, a failure rolls back only the current chunk
+    static final int COMMIT_EVERY = Integer.getInteger("db.commitEvery", 10000);
+    // Rows per round trip while streaming, also how often the streaming context is cleared
+    static final int FETCH_SIZE = Integer.getInteger("db.fetchSize", 1000);
+
+    // Hibernate's query hints by name: hibernate-core is only on the runtime classpath
+    private static final String HINT_READ_ONLY = "org.hibernate.readOnly";
+    private static final String HINT_FETCH_SIZE = "org.hibernate.fetchSize";
+
+    private final EntityManagerFactory emf;
 
     public StudentDAO() {
-        em = HibernateUtil.getEntityManagerFactory().createEntityManager();
+        this(HibernateUtil.getEntityManagerFactory());
+    }
+
+    public StudentDAO(EntityManagerFactory emf) {
+        this.emf = emf;
     }
 
     public void addStudent(Student student) {
-        EntityTransaction tx = em.getTransaction();
-        tx.begin();
-        em.persist(student);
-        tx.commit();
+        inTransaction(em -> {
+            em.persist(student);
+            return null;
+        });
         System.out.println("Student added successfully.");
     }
 
+    // Persist many students in batches: flush and clear every BATCH_SIZE rows so the context stays
+    // small, commit every COMMIT_EVERY rows. Returns how many were added.
+    public long addStudents(Iterator<Student> students) {
+        long added = 0;
+        while (students.hasNext()) {
+            added += inTransaction(em -> {
+                int count = 0;
+                while (students.hasNext() && count < COMMIT_EVERY) {
+                    em.persist(students.next());
+                    if (++count % BATCH_SIZE == 0) {
+                        em.flush();
+                        em.clear();
+                    }
+                }
+                return count;
+            });
+        }
+        return added;
+    }
+
+    public long addStudents(List<Student> students) {
+        return addStudents(students.iterator());
+    }
+
+    // Whole table as detached entities, for small tables; use forEachStudent for large ones
     public List<Student> getAllStudents() {
-        return em.createQuery("from Student", Student.class).getResultList();
+        return inTransaction(em -> em.createQuery("from Student s order by s.id", Student.class)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultList());
+    }
+
+    // Stream every student in id order without holding the table in memory. The entities are
+    // read-only and detached in chunks, so the action must not keep or modify them. Returns the row count.
+    public long forEachStudent(Consumer<Student> action) {
+        return inTransaction(em -> {
+            long count = 0;
+            // The PostgreSQL driver only uses a cursor with a fetch size inside a transaction
+            try (Stream<Student> students = em.createQuery("from Student s order by s.id", Student.class)
+                    .setHint(HINT_READ_ONLY, true)
+                    .setHint(HINT_FETCH_SIZE, FETCH_SIZE)
+                    .getResultStream()) {
+                Iterator<Student> rows = students.iterator();
+                while (rows.hasNext()) {
+                    action.accept(rows.next());
+                    if (++count % FETCH_SIZE == 0) {
+                        em.clear();
+                    }
+                }
+            }
+            return count;
+        });
     }
 
     public void updateStudent(int id, String name, String course, double fee) {
-        EntityTransaction tx = em.getTransaction();
-        tx.begin();
-        Student student = em.find(Student.class, id);
-        if (student != null) {
+        boolean updated = inTransaction(em -> {
+            Student student = em.find(Student.class, id);
+            if (student == null) {
+                return false;
+            }
             student.setName(name);
             student.setCourse(course);
             student.setFee(fee);
-            em.merge(student);
-            System.out.println("Student updated successfully.");
-        } else {
-            System.out.println("Student not found with ID: " + id);
-        }
-        tx.commit();
+            return true;
+        });
+        System.out.println(updated ? "Student updated successfully." : "Student not found with ID: " + id);
     }
 
     public void deleteStudent(int id) {
-        EntityTransaction tx = em.getTransaction();
-        tx.begin();
-        Student student = em.find(Student.class, id);
-        if (student != null) {
+        boolean deleted = inTransaction(em -> {
+            Student student = em.find(Student.class, id);
+            if (student == null) {
+                return false;
+            }
             em.remove(student);
-            System.out.println("Student deleted successfully.");
-        } else {
-            System.out.println("Student not found with ID: " + id);
-        }
-        tx.commit();
+            return true;
+        });
+        System.out.println(deleted ? "Student deleted successfully." : "Student not found with ID: " + id);
     }
 
-    public void close() {
-        if (em != null) em.close();
+    // Run the work in a new EntityManager and transaction, rolling back if it throws
+    private <T> T inTransaction(Function<EntityManager, T> work) {
+        EntityManager em = emf.createEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+            T result = work.apply(em);
+            tx.commit();
+            return result;
+        } finally {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            em.close();
+        }
     }
 }
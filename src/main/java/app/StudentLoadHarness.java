@@ -0,0 +1,78 @@
+package app;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Bulk-adds generated students through StudentDAO, then streams the whole table back, printing
+// rows/s and peak heap. Run with a small heap to check that neither phase holds the table in memory:
+//
+//   java -Xmx128m -Dharness.rows=1000000 -cp <classpath> app.StudentLoadHarness
+public class StudentLoadHarness {
+
+    private static final int ROWS = Integer.getInteger("harness.rows", 1_000_000);
+    private static final String[] COURSES = {"Computer Science", "Mathematics", "Physics", "Chemistry", "Biology"};
+
+    public static void main(String[] args) {
+        StudentDAO dao = new StudentDAO();
+        try {
+            long start = System.nanoTime();
+            long added = dao.addStudents(generate(ROWS));
+            report("add", added, start);
+
+            resetPeakHeap();
+            double[] totalFee = {0};
+            start = System.nanoTime();
+            long listed = dao.forEachStudent(s -> totalFee[0] += s.getFee());
+            report("list", listed, start);
+            System.out.printf("listed fee total %.0f%n", totalFee[0]);
+        } finally {
+            HibernateUtil.shutDown();
+        }
+    }
+
+    // Students made on demand, so the harness itself holds none of them
+    private static Iterator<Student> generate(int rows) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < rows;
+            }
+
+            @Override
+            public Student next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int i = next++;
+                return new Student("Student " + i, COURSES[i % COURSES.length], 1000 + (i % 500));
+            }
+        };
+    }
+
+    private static void report(String phase, long rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%-5s %,d rows in %.1fs (%,.0f rows/s), peak heap %d MiB of %d MiB%n",
+                phase, rows, seconds, rows / seconds, peakHeap() >> 20, Runtime.getRuntime().maxMemory() >> 20);
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+}
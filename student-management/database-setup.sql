@@ -18,10 +18,17 @@ CREATE TABLE IF NOT EXISTS students (
     phone VARCHAR(15) UNIQUE,
     address VARCHAR(200),
     status VARCHAR(20) DEFAULT 'ACTIVE',
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Optimistic-lock column for databases created before it existed
+ALTER TABLE students ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Hibernate pools ids 50 at a time so inserts can be batched
+ALTER SEQUENCE students_id_seq INCREMENT BY 50;
+
 -- Create indexes for better performance
 CREATE INDEX IF NOT EXISTS idx_students_name ON students(name);
 CREATE INDEX IF NOT EXISTS idx_students_course ON students(course);
@@ -29,6 +36,23 @@ CREATE INDEX IF NOT EXISTS idx_students_status ON students(status);
 CREATE INDEX IF NOT EXISTS idx_students_email ON students(email);
 CREATE INDEX IF NOT EXISTS idx_students_phone ON students(phone);
 
+-- Composite (sort key, id) indexes for keyset pagination
+CREATE INDEX IF NOT EXISTS idx_students_name_id ON students(name, id);
+CREATE INDEX IF NOT EXISTS idx_students_course_id ON students(course, id);
+CREATE INDEX IF NOT EXISTS idx_students_fee_id ON students(fee, id);
+CREATE INDEX IF NOT EXISTS idx_students_created_at_id ON students(created_at, id);
+
+-- Composite indexes for the common search filter combinations (equality columns first, then the range or
+-- sort column), each combination only emits its own predicates so the planner can pick the matching one
+CREATE INDEX IF NOT EXISTS idx_students_course_status_id ON students(course, status, id);
+CREATE INDEX IF NOT EXISTS idx_students_status_fee ON students(status, fee);
+CREATE INDEX IF NOT EXISTS idx_students_status_created_at ON students(status, created_at);
+CREATE INDEX IF NOT EXISTS idx_students_updated_at_id ON students(updated_at, id);
+
+-- Trigram index so ILIKE '%term%' name searches and similarity ranking avoid sequential scans
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_students_name_trgm ON students USING gin (name gin_trgm_ops);
+
 -- Insert sample data (only if table is empty)
 INSERT INTO students (name, course, fee, email, phone, address, status) 
 SELECT * FROM (VALUES
@@ -61,6 +85,147 @@ CREATE TRIGGER update_students_updated_at
     FOR EACH ROW 
     EXECUTE FUNCTION update_updated_at_column();
 
+-- Per-course summary for reporting, kept current by statement-level triggers so reports read
+-- one row per course instead of scanning students. Each statement applies one grouped delta,
+-- so batch inserts and COPY imports touch every affected course once.
+CREATE TABLE IF NOT EXISTS course_stats (
+    course VARCHAR(100) PRIMARY KEY,
+    student_count BIGINT NOT NULL DEFAULT 0,
+    total_fee DECIMAL(14,2) NOT NULL DEFAULT 0,
+    active_count BIGINT NOT NULL DEFAULT 0,
+    inactive_count BIGINT NOT NULL DEFAULT 0,
+    graduated_count BIGINT NOT NULL DEFAULT 0,
+    suspended_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Statement adding the (course, fee, status, sign) rows selected by deltas to course_stats. Callers
+-- EXECUTE it themselves: transition tables are only visible inside the trigger function.
+CREATE OR REPLACE FUNCTION course_stats_upsert(deltas TEXT)
+RETURNS TEXT AS $$
+BEGIN
+    RETURN format($sql$
+        INSERT INTO course_stats AS cs (course, student_count, total_fee, active_count, inactive_count,
+                                        graduated_count, suspended_count, updated_at)
+        SELECT course, SUM(sign), COALESCE(SUM(sign * fee), 0),
+               COALESCE(SUM(sign) FILTER (WHERE status = 'ACTIVE'), 0),
+               COALESCE(SUM(sign) FILTER (WHERE status = 'INACTIVE'), 0),
+               COALESCE(SUM(sign) FILTER (WHERE status = 'GRADUATED'), 0),
+               COALESCE(SUM(sign) FILTER (WHERE status = 'SUSPENDED'), 0),
+               CURRENT_TIMESTAMP
+        FROM (%s) d
+        GROUP BY course
+        ON CONFLICT (course) DO UPDATE SET
+            student_count = cs.student_count + EXCLUDED.student_count,
+            total_fee = cs.total_fee + EXCLUDED.total_fee,
+            active_count = cs.active_count + EXCLUDED.active_count,
+            inactive_count = cs.inactive_count + EXCLUDED.inactive_count,
+            graduated_count = cs.graduated_count + EXCLUDED.graduated_count,
+            suspended_count = cs.suspended_count + EXCLUDED.suspended_count,
+            updated_at = EXCLUDED.updated_at
+    $sql$, deltas);
+END;
+$$ language 'plpgsql' IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION course_stats_on_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        EXECUTE course_stats_upsert('SELECT course, fee, status, 1 AS sign FROM new_rows');
+    ELSIF TG_OP = 'DELETE' THEN
+        EXECUTE course_stats_upsert('SELECT course, fee, status, -1 AS sign FROM old_rows');
+    ELSIF TG_OP = 'UPDATE' THEN
+        -- Only rows whose course, fee or status changed, name or email edits leave course_stats alone
+        EXECUTE course_stats_upsert('SELECT n.course, n.fee, n.status, 1 AS sign
+                                     FROM new_rows n JOIN old_rows o USING (id)
+                                     WHERE (n.course, n.fee, n.status) IS DISTINCT FROM (o.course, o.fee, o.status)
+                                     UNION ALL
+                                     SELECT o.course, o.fee, o.status, -1
+                                     FROM new_rows n JOIN old_rows o USING (id)
+                                     WHERE (n.course, n.fee, n.status) IS DISTINCT FROM (o.course, o.fee, o.status)');
+    ELSE
+        DELETE FROM course_stats;
+        RETURN NULL;
+    END IF;
+    DELETE FROM course_stats WHERE student_count <= 0;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+-- Transition tables allow one event per trigger
+DROP TRIGGER IF EXISTS course_stats_insert ON students;
+CREATE TRIGGER course_stats_insert
+    AFTER INSERT ON students REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION course_stats_on_change();
+DROP TRIGGER IF EXISTS course_stats_update ON students;
+CREATE TRIGGER course_stats_update
+    AFTER UPDATE ON students REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION course_stats_on_change();
+DROP TRIGGER IF EXISTS course_stats_delete ON students;
+CREATE TRIGGER course_stats_delete
+    AFTER DELETE ON students REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION course_stats_on_change();
+DROP TRIGGER IF EXISTS course_stats_truncate ON students;
+CREATE TRIGGER course_stats_truncate
+    AFTER TRUNCATE ON students
+    FOR EACH STATEMENT EXECUTE FUNCTION course_stats_on_change();
+
+-- Rebuild the summary from scratch; writers wait while it runs
+CREATE OR REPLACE FUNCTION refresh_course_stats()
+RETURNS VOID AS $$
+BEGIN
+    LOCK TABLE students IN SHARE MODE;
+    DELETE FROM course_stats;
+    EXECUTE course_stats_upsert('SELECT course, fee, status, 1 AS sign FROM students');
+END;
+$$ language 'plpgsql';
+
+SELECT refresh_course_stats();
+
+-- Change counter per table, bumped once by every statement writing to it (this application, another
+-- instance, an import or plain SQL) and only visible once that statement commits. The list ETag reads
+-- it by key instead of aggregating students. Concurrent writers queue on the row until they commit.
+CREATE TABLE IF NOT EXISTS table_changes (
+    table_name VARCHAR(50) PRIMARY KEY,
+    change_count BIGINT NOT NULL DEFAULT 0
+);
+INSERT INTO table_changes (table_name, change_count) VALUES ('students', 0) ON CONFLICT DO NOTHING;
+
+CREATE OR REPLACE FUNCTION table_changes_bump()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE table_changes SET change_count = change_count + 1 WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS students_changes ON students;
+CREATE TRIGGER students_changes
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON students
+    FOR EACH STATEMENT EXECUTE FUNCTION table_changes_bump();
+
+-- Transactional outbox of student changes, drained in order by the relay (see StudentOutboxRelay)
+-- Unpooled: ids are taken after the student rows are locked, so one student's events are numbered in commit order
+CREATE SEQUENCE IF NOT EXISTS student_outbox_id_seq;
+ALTER SEQUENCE student_outbox_id_seq INCREMENT BY 1;
+CREATE TABLE IF NOT EXISTS student_outbox (
+    id BIGINT PRIMARY KEY DEFAULT nextval('student_outbox_id_seq'),
+    type VARCHAR(20) NOT NULL,
+    student_id BIGINT,
+    payload TEXT,
+    occurred_at TIMESTAMP NOT NULL,
+    position BIGINT UNIQUE,
+    published_at TIMESTAMP
+);
+-- The relay only looks for rows without a position, keep that lookup small
+CREATE INDEX IF NOT EXISTS idx_student_outbox_pending ON student_outbox(id) WHERE position IS NULL;
+
+CREATE TABLE IF NOT EXISTS student_outbox_cursor (
+    name VARCHAR(50) PRIMARY KEY,
+    position BIGINT NOT NULL
+);
+INSERT INTO student_outbox_cursor (name, position) VALUES ('relay', 0) ON CONFLICT DO NOTHING;
+
 -- Grant permissions to airouser
 GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA public TO airouser;
 GRANT ALL PRIVILEGES ON ALL SEQUENCES IN SCHEMA public TO airouser;
@@ -0,0 +1,65 @@
+package com.student.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.dto.ApiResponse;
+import com.student.dto.StudentDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    // Students per page in the serialized list response
+    @Param({"1", "10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<StudentDTO> single;
+    private ApiResponse<Page<StudentDTO>> page;
+
+    @Setup
+    public void setup() {
+        // Same defaults Spring MVC uses for its message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<StudentDTO> students = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            StudentDTO dto = BenchmarkContext.student(i);
+            dto.setId((long) i);
+            dto.setCreatedAt(LocalDateTime.now());
+            dto.setUpdatedAt(LocalDateTime.now());
+            students.add(dto);
+        }
+        single = ApiResponse.success(students.get(0), "Student retrieved successfully");
+        page = ApiResponse.success(new PageImpl<>(students, PageRequest.of(0, pageSize), 100000),
+                "Students retrieved successfully");
+    }
+
+    @Benchmark
+    public byte[] serializeSingle() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,79 @@
+package com.student.benchmark;
+
+import com.student.dto.BatchResult;
+import com.student.dto.StudentDTO;
+import com.student.service.StudentBatchService;
+import com.student.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Creating an intake of new students through the batch API against one saveStudent (a POST) per
+// student. Scores are per intake of batchSize students.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchCreateBenchmark {
+
+    private static final int STUDENTS = 10000;
+
+    @Param({"100", "10000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private StudentService service;
+    private StudentBatchService batchService;
+    // Every invocation creates students no earlier one has used
+    private int next = STUDENTS;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, STUDENTS);
+        service = context.getBean(StudentService.class);
+        batchService = context.getBean(StudentBatchService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BatchResult batch() {
+        BatchResult result = batchService.createStudents(intake());
+        if (result.getFailed() > 0) {
+            throw new IllegalStateException(result.getFailed() + " students were not created");
+        }
+        return result;
+    }
+
+    @Benchmark
+    public StudentDTO perRow() {
+        StudentDTO last = null;
+        for (StudentDTO student : intake()) {
+            last = service.saveStudent(student);
+        }
+        return last;
+    }
+
+    private List<StudentDTO> intake() {
+        List<StudentDTO> students = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            students.add(BenchmarkContext.student(next++));
+        }
+        return students;
+    }
+}
@@ -0,0 +1,109 @@
+package com.student.benchmark;
+
+import com.student.StudentManagementApplication;
+import com.student.dto.StudentDTO;
+import com.student.model.Student;
+import com.student.service.StudentBatchService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Boots the application against an in-memory H2 database (PostgreSQL mode) and seeds it. With
+// -Dstudent.bench.postgres.url (and .username / .password) it uses that scratch Postgres database
+// instead, wiped and rebuilt from database-setup.sql on every start.
+final class BenchmarkContext {
+
+    private static final String POSTGRES_URL = "student.bench.postgres.url";
+    private static final String SETUP_SCRIPT = "database-setup.sql";
+
+    static final String[] COURSES = {
+            "Computer Science", "Mathematics", "Physics", "Chemistry",
+            "Biology", "Engineering", "Psychology", "Economics"
+    };
+
+    // Rows per call to the batch API while seeding
+    private static final int SEED_BATCH = 10000;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(onPostgres() ? postgres() : List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop"));
+        args.addAll(List.of(
+                "--student.statistics.reconcile-interval-ms=3600000",
+                "--logging.level.root=WARN",
+                "--logging.level.com.student=WARN"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(StudentManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+    }
+
+    static boolean onPostgres() {
+        return System.getProperty(POSTGRES_URL) != null;
+    }
+
+    // An empty schema from the setup script, as in production, with its sample students removed
+    private static List<String> postgres() {
+        String url = System.getProperty(POSTGRES_URL);
+        String username = System.getProperty("student.bench.postgres.username", "postgres");
+        String password = System.getProperty("student.bench.postgres.password", "");
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA public CASCADE");
+            statement.execute("CREATE SCHEMA public");
+            statement.execute(Files.readAllLines(Path.of(SETUP_SCRIPT)).stream()
+                    .filter(line -> !line.startsWith("\\") && !line.startsWith("GRANT "))
+                    .collect(Collectors.joining("\n")));
+            statement.execute("TRUNCATE students CASCADE");
+            statement.execute("SELECT refresh_course_stats()");
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Cannot set up the benchmark database at " + url, e);
+        }
+        return List.of(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.jpa.hibernate.ddl-auto=update");
+    }
+
+    static void seed(ConfigurableApplicationContext context, int students) {
+        StudentBatchService batchService = context.getBean(StudentBatchService.class);
+        for (int from = 0; from < students; from += SEED_BATCH) {
+            List<StudentDTO> batch = new ArrayList<>(SEED_BATCH);
+            for (int i = from; i < Math.min(from + SEED_BATCH, students); i++) {
+                batch.add(student(i));
+            }
+            batchService.createStudents(batch);
+        }
+    }
+
+    static StudentDTO student(int i) {
+        StudentDTO dto = new StudentDTO();
+        dto.setName("Student " + Integer.toString(i, 36) + " Example");
+        dto.setCourse(COURSES[i % COURSES.length]);
+        dto.setFee(1000.0 + (i % 500));
+        dto.setEmail("student" + i + "@example.com");
+        dto.setPhone("+1" + String.format("%09d", i));
+        dto.setAddress(i + " Main St, City, State");
+        dto.setStatus(Student.StudentStatus.values()[i % Student.StudentStatus.values().length]);
+        return dto;
+    }
+}
@@ -0,0 +1,80 @@
+package com.student.benchmark;
+
+import com.student.dto.BulkUpdateRequest;
+import com.student.dto.BulkUpdateResult;
+import com.student.dto.StudentDTO;
+import com.student.service.StudentBulkUpdateService;
+import com.student.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// "Raise every Computer Science fee" as one set-based update against a PUT-style load and save per
+// student. Both touch the same rows; scores are per row.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BulkUpdateBenchmark {
+
+    private static final int STUDENTS = 10000;
+    private static final String COURSE = BenchmarkContext.COURSES[0];
+    // Students in COURSE, the seed spreads its eight courses evenly
+    private static final int ROWS = STUDENTS / 8;
+
+    private ConfigurableApplicationContext context;
+    private StudentService service;
+    private StudentBulkUpdateService bulkUpdateService;
+    private List<Long> ids;
+    private boolean raise;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, STUDENTS);
+        service = context.getBean(StudentService.class);
+        bulkUpdateService = context.getBean(StudentBulkUpdateService.class);
+        ids = service.getByCourse(COURSE).stream().map(StudentDTO::getId).toList();
+        if (ids.size() != ROWS) {
+            throw new IllegalStateException("Expected " + ROWS + " students in " + COURSE + ", found " + ids.size());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BulkUpdateResult setBased() {
+        BulkUpdateRequest request = new BulkUpdateRequest();
+        request.setCourse(COURSE);
+        // Alternate up and down so fees stay in range
+        request.setFeePercent((raise = !raise) ? 5.0 : -100.0 * 5 / 105);
+        return bulkUpdateService.adjustFees(request, false);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public StudentDTO perEntity() {
+        double factor = (raise = !raise) ? 1.05 : 1 / 1.05;
+        StudentDTO last = null;
+        for (Long id : ids) {
+            StudentDTO changes = new StudentDTO();
+            changes.setFee(Math.round(service.getStudent(id).getFee() * factor * 100) / 100.0);
+            last = service.updateStudent(id, changes);
+        }
+        return last;
+    }
+}
@@ -0,0 +1,92 @@
+package com.student.benchmark;
+
+import com.student.dto.StudentDTO;
+import com.student.service.StudentService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Several writers updating the same few rows: load-modify-save (PUT) against the versioned
+// single-statement PATCH. Conflicts are reported as an extra counter next to the throughput.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class ContendedUpdateBenchmark {
+
+    private static final int STUDENTS = 1000;
+
+    // Rows the writers compete for, fewer means more contention
+    @Param({"4", "256"})
+    private int hotRows;
+
+    private ConfigurableApplicationContext context;
+    private StudentService service;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, STUDENTS);
+        service = context.getBean(StudentService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+        }
+    }
+
+    @Benchmark
+    public StudentDTO loadModifySave(Outcomes outcomes) {
+        long id = 1 + ThreadLocalRandom.current().nextInt(hotRows);
+        try {
+            return service.updateStudent(id, feeChange());
+        } catch (OptimisticLockingFailureException e) {
+            outcomes.conflicts++;
+            return null;
+        }
+    }
+
+    @Benchmark
+    public StudentDTO patch(Outcomes outcomes) {
+        long id = 1 + ThreadLocalRandom.current().nextInt(hotRows);
+        // A client reads the row (and its ETag) before sending the PATCH
+        Long version = service.getStudent(id).getVersion();
+        try {
+            return service.patchStudent(id, version, feeChange());
+        } catch (OptimisticLockingFailureException e) {
+            outcomes.conflicts++;
+            return null;
+        }
+    }
+
+    private static StudentDTO feeChange() {
+        StudentDTO changes = new StudentDTO();
+        changes.setFee(1000.0 + ThreadLocalRandom.current().nextInt(500));
+        return changes;
+    }
+}
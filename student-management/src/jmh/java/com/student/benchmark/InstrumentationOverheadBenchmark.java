@@ -0,0 +1,60 @@
+package com.student.benchmark;
+
+import com.student.dto.StudentDTO;
+import com.student.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the service timers and repository metrics on the hot read paths, with and without them
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InstrumentationOverheadBenchmark {
+
+    private static final int STUDENTS = 1000;
+
+    @Param({"false", "true"})
+    private boolean instrumented;
+
+    private ConfigurableApplicationContext context;
+    private StudentService service;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start(
+                "--management.observations.annotations.enabled=" + instrumented,
+                "--management.metrics.data.repository.autotime.enabled=" + instrumented);
+        BenchmarkContext.seed(context, STUDENTS);
+        service = context.getBean(StudentService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // In-memory aggregate, so the timer is a large share of the call
+    @Benchmark
+    public StudentService.StudentStatistics getStatistics() {
+        return service.getStatistics();
+    }
+
+    // Second-level cache hit through the repository, timed at both the service and the repository
+    @Benchmark
+    public StudentDTO getStudent() {
+        long id = 1 + ThreadLocalRandom.current().nextInt(STUDENTS);
+        return service.getStudent(id);
+    }
+}
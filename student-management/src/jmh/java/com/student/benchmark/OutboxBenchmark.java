@@ -0,0 +1,112 @@
+package com.student.benchmark;
+
+import com.student.dto.StudentDTO;
+import com.student.service.StudentBatchService;
+import com.student.service.StudentOutboxRelay;
+import com.student.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Write-path cost of recording changes in the outbox, and how fast the relay drains it
+public class OutboxBenchmark {
+
+    // Events relayed per measured relay call
+    private static final int RELAY_BATCH = 1000;
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public static class WritePath {
+
+        @Param({"false", "true"})
+        private boolean outbox;
+
+        private ConfigurableApplicationContext context;
+        private StudentService service;
+        private final AtomicInteger nextStudent = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            // The scheduled relay is pushed out of the measurement, only the extra insert counts
+            context = BenchmarkContext.start("--student.outbox.enabled=" + outbox,
+                    "--student.outbox.relay-interval-ms=3600000", "--student.outbox.log-sink.enabled=false");
+            BenchmarkContext.seed(context, 1000);
+            service = context.getBean(StudentService.class);
+            nextStudent.set(1000);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+
+        StudentDTO saveStudent() {
+            return service.saveStudent(BenchmarkContext.student(nextStudent.getAndIncrement()));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public static class Relay {
+
+        private ConfigurableApplicationContext context;
+        private StudentBatchService batchService;
+        private StudentOutboxRelay relay;
+        private int nextStudent;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            context = BenchmarkContext.start("--student.outbox.relay-interval-ms=3600000",
+                    "--student.outbox.log-sink.enabled=false");
+            batchService = context.getBean(StudentBatchService.class);
+            relay = context.getBean(StudentOutboxRelay.class);
+        }
+
+        // Queue one batch of changes for the next relay call
+        @Setup(Level.Invocation)
+        public void fillOutbox() {
+            List<StudentDTO> batch = new ArrayList<>(RELAY_BATCH);
+            for (int i = 0; i < RELAY_BATCH; i++) {
+                batch.add(BenchmarkContext.student(nextStudent++));
+            }
+            batchService.createStudents(batch);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    // Time per relayed event
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(RELAY_BATCH)
+    public int relay(Relay state) {
+        return state.relay.relayPending();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public StudentDTO saveStudent(WritePath state) {
+        return state.saveStudent();
+    }
+}
@@ -0,0 +1,116 @@
+package com.student.benchmark;
+
+import com.student.dto.CursorPage;
+import com.student.dto.StudentDTO;
+import com.student.dto.StudentSuggestion;
+import com.student.model.Student;
+import com.student.repository.StudentRepository;
+import com.student.service.StudentCursor;
+import com.student.service.StudentSearchIndex;
+import com.student.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PaginationSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    private int students;
+
+    private ConfigurableApplicationContext context;
+    private StudentService service;
+    private StudentRepository repo;
+    private StudentSearchIndex searchIndex;
+    private int deepPage;
+    private String deepCursor;
+    private String deepNameCursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, students);
+        service = context.getBean(StudentService.class);
+        repo = context.getBean(StudentRepository.class);
+        searchIndex = context.getBean(StudentSearchIndex.class);
+
+        // The second-to-last page, where OFFSET has to skip almost the whole table
+        deepPage = students / PAGE_SIZE - 1;
+        Student last = new Student();
+        last.setId(service.getAllStudents(deepPage - 1, PAGE_SIZE, "id", "asc").getContent().get(PAGE_SIZE - 1).getId());
+        deepCursor = StudentCursor.first("id", true).after(last).encode();
+
+        // The same page sorted by name, which seeks (name, id) rather than the primary key
+        StudentDTO lastByName = service.getAllStudents(deepPage - 1, PAGE_SIZE, "name", "asc").getContent().get(PAGE_SIZE - 1);
+        Student lastName = new Student();
+        lastName.setId(lastByName.getId());
+        lastName.setName(lastByName.getName());
+        deepNameCursor = StudentCursor.first("name", true).after(lastName).encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<StudentDTO> firstPageOffset() {
+        return service.getAllStudents(0, PAGE_SIZE, "id", "asc");
+    }
+
+    @Benchmark
+    public Page<StudentDTO> deepPageOffset() {
+        return service.getAllStudents(deepPage, PAGE_SIZE, "id", "asc");
+    }
+
+    @Benchmark
+    public CursorPage<StudentDTO> deepPageKeyset() {
+        return service.getStudentsAfter(deepCursor, PAGE_SIZE, "id", "asc");
+    }
+
+    @Benchmark
+    public Page<StudentDTO> deepPageOffsetByName() {
+        return service.getAllStudents(deepPage, PAGE_SIZE, "name", "asc");
+    }
+
+    @Benchmark
+    public CursorPage<StudentDTO> deepPageKeysetByName() {
+        return service.getStudentsAfter(deepNameCursor, PAGE_SIZE, "name", "asc");
+    }
+
+    @Benchmark
+    public Page<StudentDTO> searchByCriteria() {
+        return service.searchByCriteria("example", BenchmarkContext.COURSES[3], Student.StudentStatus.ACTIVE, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Student> searchByNameLike() {
+        return repo.findByNameContainingIgnoreCase("1a");
+    }
+
+    @Benchmark
+    public List<StudentSuggestion> suggestPrefix() {
+        return searchIndex.suggest("stud 1a", 10);
+    }
+
+    @Benchmark
+    public List<StudentSuggestion> suggestFuzzy() {
+        return searchIndex.suggest("exampel", 10);
+    }
+}
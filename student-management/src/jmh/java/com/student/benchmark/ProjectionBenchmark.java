@@ -0,0 +1,66 @@
+package com.student.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Entity-and-DTO list paths against fields= projections of the grid's columns, including the JSON
+// the controller would write. Run with -Pjmh.prof=gc to see bytes allocated per operation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectionBenchmark {
+
+    private static final int STUDENTS = 10000;
+    private static final int PAGE_SIZE = 100;
+    private static final String GRID_FIELDS = "id,name,course,fee,status";
+
+    private ConfigurableApplicationContext context;
+    private StudentService service;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, STUDENTS);
+        service = context.getBean(StudentService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] pageEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(service.getAllStudents(0, PAGE_SIZE, "name", "asc").getContent());
+    }
+
+    @Benchmark
+    public byte[] pageFields() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(service.getStudentFields(GRID_FIELDS, 0, PAGE_SIZE, "name", "asc").getContent());
+    }
+
+    @Benchmark
+    public byte[] allEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(service.getAllStudents());
+    }
+
+    @Benchmark
+    public byte[] allFields() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(service.getAllStudentFields(GRID_FIELDS));
+    }
+}
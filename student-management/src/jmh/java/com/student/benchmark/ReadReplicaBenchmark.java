@@ -0,0 +1,117 @@
+package com.student.benchmark;
+
+import com.student.dto.StudentDTO;
+import com.student.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Read-only searches with 0, 1 and 2 read replicas. The replicas are separate in-memory H2 databases
+// loaded with a copy of the seeded primary; each pool is kept small so a single database is the limit.
+// In one JVM every "server" shares the same CPUs: with serverMillis=0 the searches are CPU-bound and the
+// score stays flat whatever the replica count. serverMillis holds the connection that long after each
+// search, standing in for the time a real server spends on I/O; capacity is then connections per database
+// and grows with the replicas (0 and 1 replica both read from one database).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class ReadReplicaBenchmark {
+
+    private static final int STUDENTS = 10000;
+    private static final int PAGE_SIZE = 20;
+    // Connections per database
+    private static final int POOL_SIZE = 2;
+
+    @Param({"0", "1", "2"})
+    private int replicas;
+
+    @Param({"0", "50"})
+    private int serverMillis;
+
+    private ConfigurableApplicationContext context;
+    private StudentService service;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        List<String> urls = new ArrayList<>();
+        for (int i = 1; i <= replicas; i++) {
+            urls.add("jdbc:h2:mem:replica" + i + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        }
+        context = BenchmarkContext.start(
+                "--student.datasource.replicas.enabled=" + (replicas > 0),
+                "--student.datasource.replicas.urls=" + String.join(",", urls),
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--spring.datasource.hikari.minimum-idle=" + POOL_SIZE);
+        BenchmarkContext.seed(context, STUDENTS);
+        service = context.getBean(StudentService.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        // "Replicate" once: copy the primary into every replica
+        File dump = File.createTempFile("replica", ".sql");
+        try (Connection primary = DriverManager.getConnection("jdbc:h2:mem:bench", "sa", "");
+             Statement statement = primary.createStatement()) {
+            statement.execute("SCRIPT TO '" + dump.getAbsolutePath() + "'");
+        }
+        for (String url : urls) {
+            load(url, dump);
+        }
+        dump.delete();
+    }
+
+    private static void load(String url, File dump) throws SQLException {
+        try (Connection replica = DriverManager.getConnection(url, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("RUNSCRIPT FROM '" + dump.getAbsolutePath() + "'");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<StudentDTO> searchByCriteria() {
+        String course = BenchmarkContext.COURSES[ThreadLocalRandom.current().nextInt(BenchmarkContext.COURSES.length)];
+        int page = ThreadLocalRandom.current().nextInt(50);
+        if (serverMillis == 0) {
+            return service.searchByCriteria(null, course, null, page, PAGE_SIZE);
+        }
+        // The search joins this transaction, so its connection stays checked out while sleeping
+        return readOnly.execute(status -> {
+            Page<StudentDTO> students = service.searchByCriteria(null, course, null, page, PAGE_SIZE);
+            try {
+                Thread.sleep(serverMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return students;
+        });
+    }
+}
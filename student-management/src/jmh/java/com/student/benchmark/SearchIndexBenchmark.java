@@ -0,0 +1,74 @@
+package com.student.benchmark;
+
+import com.student.dto.StudentSuggestion;
+import com.student.event.StudentChangedEvent;
+import com.student.service.StudentSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The type-ahead index on its own, filled through its change listener without a database. Setup
+// prints the heap the index retains; the queries go from one rare term to two terms every student has.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchIndexBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int students;
+
+    private StudentSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        long before = usedHeap();
+        index = new StudentSearchIndex();
+        for (int i = 0; i < students; i++) {
+            var student = BenchmarkContext.student(i);
+            student.setId((long) i + 1);
+            index.onStudentChanged(StudentChangedEvent.created(student));
+        }
+        // As after a load from the database: every student in the packed build, none in the delta
+        index.merge();
+        long retained = usedHeap() - before;
+        System.out.printf("%nSearch index for %d students retains %.1f MB, %d bytes per student%n",
+                students, retained / 1048576.0, retained / students);
+    }
+
+    @Benchmark
+    public List<StudentSuggestion> rareTerm() {
+        return index.suggest("9a3", 10);
+    }
+
+    @Benchmark
+    public List<StudentSuggestion> rareAndCommonTerm() {
+        return index.suggest("student 9a3", 10);
+    }
+
+    @Benchmark
+    public List<StudentSuggestion> twoCommonTerms() {
+        return index.suggest("comp stud", 10);
+    }
+
+    @Benchmark
+    public List<StudentSuggestion> fuzzyAndCommonTerm() {
+        return index.suggest("exampel phys", 10);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,114 @@
+package com.student.benchmark;
+
+import com.student.dto.StudentDTO;
+import com.student.dto.StudentSearchCriteria;
+import com.student.model.Student;
+import com.student.repository.StudentRepository;
+import com.student.service.StudentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// First search page per filter combination: one catch-all (:x IS NULL OR ...) statement, as the old
+// findByCriteria, against the specification search that only emits the filters given. Both run with the
+// composite indexes of database-setup.sql.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpecificationSearchBenchmark {
+
+    private static final int STUDENTS = 100000;
+    private static final int PAGE_SIZE = 20;
+    private static final String CATCH_ALL = "FROM Student s WHERE " + StudentRepository.BULK_FILTER;
+
+    // The seed gives course i % 8 the status (i % 8) % 4, so Physics students are all GRADUATED
+    @Param({"course", "courseStatus", "statusFee", "fee"})
+    private String filters;
+
+    private ConfigurableApplicationContext context;
+    private StudentService service;
+    private EntityManagerFactory entityManagerFactory;
+    private StudentSearchCriteria criteria;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, STUDENTS);
+        service = context.getBean(StudentService.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.execute("CREATE INDEX idx_students_course_status_id ON students(course, status, id)");
+        jdbc.execute("CREATE INDEX idx_students_status_fee ON students(status, fee)");
+        jdbc.execute("CREATE INDEX idx_students_fee_id ON students(fee, id)");
+        jdbc.execute("ANALYZE");
+
+        criteria = new StudentSearchCriteria();
+        if (filters.startsWith("course")) {
+            criteria.setCourse(List.of(BenchmarkContext.COURSES[2]));
+        }
+        if (filters.equals("courseStatus") || filters.startsWith("status")) {
+            criteria.setStatus(List.of(Student.StudentStatus.GRADUATED));
+        }
+        if (filters.endsWith("Fee") || filters.equals("fee")) {
+            criteria.setMinFee(1100.0);
+            criteria.setMaxFee(1110.0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<StudentDTO> catchAll() {
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE);
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            List<StudentDTO> content = bind(em.createQuery("SELECT s " + CATCH_ALL + " ORDER BY s.id", Student.class))
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList().stream()
+                    .map(StudentDTO::fromEntity)
+                    .toList();
+            return PageableExecutionUtils.getPage(content, pageable,
+                    () -> bind(em.createQuery("SELECT COUNT(s) " + CATCH_ALL, Long.class)).getSingleResult());
+        } finally {
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public Page<StudentDTO> specification() {
+        return service.searchByCriteria(criteria, 0, PAGE_SIZE, "id", "asc");
+    }
+
+    private <T> TypedQuery<T> bind(TypedQuery<T> query) {
+        return query.setParameter("name", null)
+                .setParameter("course", criteria.getCourse() != null ? criteria.getCourse().get(0) : null)
+                .setParameter("status", criteria.getStatus() != null ? criteria.getStatus().get(0) : null)
+                .setParameter("minFee", criteria.getMinFee())
+                .setParameter("maxFee", criteria.getMaxFee())
+                .setParameter("createdFrom", null)
+                .setParameter("createdTo", null);
+    }
+}
@@ -0,0 +1,42 @@
+package com.student.benchmark;
+
+import com.student.dto.StudentDTO;
+import com.student.model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StudentDtoMappingBenchmark {
+
+    private Student entity;
+    private StudentDTO dto;
+
+    @Setup
+    public void setup() {
+        dto = BenchmarkContext.student(42);
+        dto.setId(42L);
+        entity = dto.toEntity();
+        entity.setCreatedAt(LocalDateTime.now());
+        entity.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public StudentDTO fromEntity() {
+        return StudentDTO.fromEntity(entity);
+    }
+
+    @Benchmark
+    public Student toEntity() {
+        return dto.toEntity();
+    }
+}
@@ -0,0 +1,61 @@
+package com.student.benchmark;
+
+import com.student.dto.StudentDTO;
+import com.student.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    private int students;
+
+    private ConfigurableApplicationContext context;
+    private StudentService service;
+    private final AtomicInteger nextStudent = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, students);
+        service = context.getBean(StudentService.class);
+        nextStudent.set(students);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public StudentDTO getStudent() {
+        long id = 1 + ThreadLocalRandom.current().nextInt(students);
+        return service.getStudent(id);
+    }
+
+    @Benchmark
+    public StudentDTO saveStudent() {
+        return service.saveStudent(BenchmarkContext.student(nextStudent.getAndIncrement()));
+    }
+
+    @Benchmark
+    public StudentService.StudentStatistics getStatistics() {
+        return service.getStatistics();
+    }
+}
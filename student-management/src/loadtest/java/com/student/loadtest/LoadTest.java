@@ -0,0 +1,425 @@
+package com.student.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+// Closed-loop HTTP load test. Starts the boot jar once per scenario, drives the read endpoints with
+// a fixed number of concurrent clients and prints throughput and latency percentiles side by side.
+// Suites: "threads" compares platform and virtual request threads on the blocking endpoints,
+// "reactive" compares the blocking endpoints with /api/reactive on the same server settings,
+// "replicas" runs the blocking endpoints with 0, 1, ... of the -Ploadtest.replicaUrls read replicas,
+// "writes" creates students (POST) with the default logging and with the verbose dev profile,
+// "cache" reads while -Ploadtest.writers clients update students (PUT), with and without the caches,
+// each writer reading its student back by id and by course right after the update to count stale reads.
+// Point it at a running server with -Ploadtest.baseUrl instead, or pass every started server extra
+// arguments (space-separated) with -Ploadtest.appArgs, e.g. another datasource. -Ploadtest.seed=N
+// creates N students before each scenario, for an empty database; a path that fails before the
+// warm-up stops the run instead of being measured as errors.
+//
+//   ./gradlew loadTest -Ploadtest.suite=reactive -Ploadtest.concurrency=2000 -Ploadtest.durationSeconds=60
+public class LoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 500);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+    private static final int PORT = Integer.getInteger("loadtest.port", 18081);
+    private static final String BASE_URL = System.getProperty("loadtest.baseUrl");
+    private static final String SUITE = System.getProperty("loadtest.suite", "threads");
+    private static final boolean VIRTUAL = Boolean.getBoolean("loadtest.virtual");
+    // Pause between a client's requests, models slow clients holding connections open
+    private static final int THINK_MILLIS = Integer.getInteger("loadtest.thinkMillis", 0);
+    // Extra arguments for every server started here
+    private static final List<String> APP_ARGS = Arrays.stream(System.getProperty("loadtest.appArgs", "").split("\\s+"))
+            .filter(arg -> !arg.isEmpty())
+            .toList();
+
+    // Students created per scenario before measuring, through the batch endpoint
+    private static final int SEED = Integer.getInteger("loadtest.seed", 0);
+    private static final int SEED_BATCH = 1000;
+    private static final String[] COURSES = {"Computer Science", "Mathematics", "Physics", "Chemistry", "Biology"};
+
+    // Keeps generated emails and phones apart from earlier runs against the same database
+    private static final String RUN = String.format("%06d", System.currentTimeMillis() % 1_000_000);
+    private static final AtomicLong CREATED = new AtomicLong();
+
+    // Clients of the "cache" suite that update instead of read
+    private static final int WRITERS = Integer.getInteger("loadtest.writers", Math.max(1, CONCURRENCY / 10));
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final Pattern FEE = Pattern.compile("\"fee\":([0-9.]+)");
+
+    // Comma-separated JDBC URLs of read replicas for the "replicas" suite
+    private static final List<String> REPLICA_URLS = paths("loadtest.replicaUrls", "").stream()
+            .filter(url -> !url.isEmpty())
+            .toList();
+
+    private static final List<String> BLOCKING_PATHS = paths("loadtest.paths",
+            "/api/students?page=0&size=20,/api/students/1,/api/students/status/ACTIVE,/api/students/search?course=Computer%20Science&page=0&size=20");
+    private static final List<String> CACHE_PATHS = paths("loadtest.cachePaths",
+            "/api/students/1,/api/students/course/Mathematics,/api/students/status/ACTIVE");
+    private static final List<String> REACTIVE_PATHS = paths("loadtest.reactivePaths",
+            "/api/reactive/students?page=0&size=20,/api/reactive/students/1,/api/reactive/students/status/ACTIVE,/api/reactive/students/search?course=Computer%20Science&page=0&size=20");
+
+    public static void main(String[] args) throws Exception {
+        List<Scenario> scenarios = switch (SUITE) {
+            case "threads" -> List.of(
+                    new Scenario("platform", false, BLOCKING_PATHS, Workload.READS, List.of()),
+                    new Scenario("virtual", true, BLOCKING_PATHS, Workload.READS, List.of()));
+            case "reactive" -> List.of(
+                    new Scenario("blocking", VIRTUAL, BLOCKING_PATHS, Workload.READS, List.of()),
+                    new Scenario("reactive", VIRTUAL, REACTIVE_PATHS, Workload.READS, List.of()));
+            case "replicas" -> IntStream.rangeClosed(0, REPLICA_URLS.size())
+                    .mapToObj(n -> new Scenario("replicas-" + n, VIRTUAL, BLOCKING_PATHS, Workload.READS, List.of(
+                            "--student.datasource.replicas.enabled=" + (n > 0),
+                            "--student.datasource.replicas.urls=" + String.join(",", REPLICA_URLS.subList(0, n)))))
+                    .toList();
+            case "writes" -> List.of(
+                    new Scenario("default", VIRTUAL, List.of(), Workload.CREATES, List.of()),
+                    new Scenario("dev-logs", VIRTUAL, List.of(), Workload.CREATES, List.of("--spring.profiles.active=dev")));
+            case "cache" -> List.of(
+                    new Scenario("cached", VIRTUAL, CACHE_PATHS, Workload.CACHE, List.of()),
+                    new Scenario("uncached", VIRTUAL, CACHE_PATHS, Workload.CACHE, List.of("--spring.cache.type=none",
+                            "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false")));
+            default -> throw new IllegalArgumentException("Unknown suite: " + SUITE);
+        };
+
+        List<Result> results = new ArrayList<>();
+        try {
+            for (Scenario scenario : scenarios) {
+                if (BASE_URL != null) {
+                    results.addAll(run(scenario, BASE_URL));
+                    continue;
+                }
+                if (args.length == 0) {
+                    throw new IllegalArgumentException("Usage: LoadTest <boot jar>, or set -Dloadtest.baseUrl");
+                }
+                Process app = start(new File(args[0]), scenario);
+                try {
+                    String baseUrl = "http://localhost:" + PORT;
+                    awaitHealthy(baseUrl, app);
+                    results.addAll(run(scenario, baseUrl));
+                } finally {
+                    app.destroy();
+                    app.waitFor();
+                }
+            }
+        } finally {
+            // A scenario that cannot run still leaves the numbers of the ones before it
+            print(results);
+        }
+    }
+
+    private static void print(List<Result> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        System.out.printf("%n%-16s %12s %10s %10s %10s %10s %8s%n", "scenario", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors");
+        for (Result result : results) {
+            System.out.printf("%-16s %12.1f %10.2f %10.2f %10.2f %10.2f %8d%n", result.name, result.throughput,
+                    result.percentile(50), result.percentile(90), result.percentile(99), result.percentile(100), result.errors);
+        }
+        for (Result result : results) {
+            if (result.checks > 0) {
+                System.out.printf("%s: %d of %d reads right after an update returned an older fee%n",
+                        result.name, result.stale, result.checks);
+            }
+        }
+    }
+
+    private static List<String> paths(String property, String defaults) {
+        return Arrays.stream(System.getProperty(property, defaults).split(",")).map(String::trim).toList();
+    }
+
+    private static Process start(File jar, Scenario scenario) throws IOException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>(List.of(java, "-jar", jar.getAbsolutePath(),
+                "--server.port=" + PORT,
+                "--spring.threads.virtual.enabled=" + scenario.virtual));
+        // The writes suite measures the logging configuration itself, so it keeps each profile's levels
+        if (scenario.workload != Workload.CREATES) {
+            command.add("--logging.level.com.student=WARN");
+        }
+        command.addAll(APP_ARGS);
+        command.addAll(scenario.args);
+        return new ProcessBuilder(command)
+                .inheritIO()
+                .start();
+    }
+
+    private static void awaitHealthy(String baseUrl, Process app) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + app.exitValue());
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application did not become healthy at " + baseUrl);
+    }
+
+    private static List<Result> run(Scenario scenario, String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        List<HttpRequest> reads = scenario.paths.stream()
+                .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).build())
+                .toList();
+        Step reader = (i, readLatencies, writeLatencies) ->
+                send(client, reads.get(i % reads.size()), HttpResponse.BodyHandlers.discarding(), readLatencies);
+
+        seed(client, baseUrl);
+        for (HttpRequest read : reads) {
+            HttpResponse<String> response = client.send(read, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException(read.uri() + " answered " + response.statusCode() + ": " + response.body());
+            }
+        }
+        IntFunction<Step> clients = switch (scenario.workload) {
+            case READS -> c -> reader;
+            case CREATES -> c -> (i, readLatencies, writeLatencies) -> send(client,
+                    create(baseUrl, CREATED.incrementAndGet()), HttpResponse.BodyHandlers.discarding(), writeLatencies);
+            case CACHE -> {
+                List<Step> writers = writers(client, baseUrl);
+                yield c -> c < writers.size() ? writers.get(c) : reader;
+            }
+        };
+
+        System.out.printf("[%s] warming up for %ds with %d clients%n", scenario.name, WARMUP_SECONDS, CONCURRENCY);
+        drive(clients, WARMUP_SECONDS, scenario.name);
+        System.out.printf("[%s] measuring for %ds%n", scenario.name, DURATION_SECONDS);
+        return drive(clients, DURATION_SECONDS, scenario.name);
+    }
+
+    // One student per writer, in a course of its own. Each step sets a new fee (PUT), then reads the
+    // student by id (second-level cache) and its course (result-set cache) back; an older fee is stale.
+    private static List<Step> writers(HttpClient client, String baseUrl) throws Exception {
+        List<Step> writers = new ArrayList<>(WRITERS);
+        for (int w = 0; w < WRITERS; w++) {
+            long n = CREATED.incrementAndGet();
+            String course = "Cache-" + RUN + "-" + n;
+            HttpResponse<String> created = client.send(
+                    write(baseUrl + "/api/students", "POST", student(n, course, 1000)), HttpResponse.BodyHandlers.ofString());
+            Matcher id = ID.matcher(created.body());
+            if (created.statusCode() != 201 || !id.find()) {
+                throw new IllegalStateException("Creating a writer's student failed with " + created.statusCode() + ": " + created.body());
+            }
+            HttpRequest byId = HttpRequest.newBuilder(URI.create(baseUrl + "/api/students/" + id.group(1)))
+                    .timeout(Duration.ofSeconds(30)).build();
+            HttpRequest byCourse = HttpRequest.newBuilder(URI.create(baseUrl + "/api/students/course/" + course))
+                    .timeout(Duration.ofSeconds(30)).build();
+            AtomicLong fee = new AtomicLong(1000);
+            writers.add((i, readLatencies, writeLatencies) -> {
+                long next = fee.incrementAndGet();
+                HttpResponse<Void> updated = send(client, write(byId.uri().toString(), "PUT", student(n, course, next)),
+                        HttpResponse.BodyHandlers.discarding(), writeLatencies);
+                if (updated == null || updated.statusCode() >= 400) {
+                    return;
+                }
+                check(send(client, byId, HttpResponse.BodyHandlers.ofString(), readLatencies), next, readLatencies);
+                check(send(client, byCourse, HttpResponse.BodyHandlers.ofString(), readLatencies), next, readLatencies);
+            });
+        }
+        return writers;
+    }
+
+    private static void check(HttpResponse<String> response, long fee, Latencies latencies) {
+        if (response == null || response.statusCode() >= 400) {
+            return;
+        }
+        Matcher found = FEE.matcher(response.body());
+        latencies.checks++;
+        if (!found.find() || Double.parseDouble(found.group(1)) != fee) {
+            latencies.stale++;
+        }
+    }
+
+    private static void seed(HttpClient client, String baseUrl) throws Exception {
+        if (SEED == 0) {
+            return;
+        }
+        System.out.printf("Creating %d students%n", SEED);
+        for (int done = 0; done < SEED; done += SEED_BATCH) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = done; i < Math.min(SEED, done + SEED_BATCH); i++) {
+                body.append(i == done ? "" : ",").append(student(CREATED.incrementAndGet()));
+            }
+            body.append("]");
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/students/batch"))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofMinutes(2))
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+            }
+        }
+    }
+
+    // A create whose email and phone no other request uses
+    private static HttpRequest create(String baseUrl, long n) {
+        return write(baseUrl + "/api/students", "POST", student(n));
+    }
+
+    private static HttpRequest write(String url, String method, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    // JSON of the n-th generated student of this run
+    private static String student(long n) {
+        return student(n, COURSES[(int) (n % COURSES.length)], 1000 + n % 500);
+    }
+
+    private static String student(long n, String course, long fee) {
+        return "{\"name\":\"Load Test " + n + "\",\"course\":\"" + course + "\","
+                + "\"fee\":" + fee + ".0,\"email\":\"load" + RUN + "-" + n + "@example.com\","
+                + "\"phone\":\"+1" + RUN + String.format("%07d", n) + "\",\"status\":\"ACTIVE\"}";
+    }
+
+    // Sends one request and records its latency; no response or a 4xx/5xx one counts as an error
+    private static <T> HttpResponse<T> send(HttpClient client, HttpRequest request, HttpResponse.BodyHandler<T> body,
+                                            Latencies latencies) throws InterruptedException {
+        long sent = System.nanoTime();
+        HttpResponse<T> response = null;
+        try {
+            response = client.send(request, body);
+        } catch (IOException e) {
+            // counted below
+        }
+        latencies.add(System.nanoTime() - sent, response == null || response.statusCode() >= 400);
+        return response;
+    }
+
+    // Each client runs its next step as soon as the previous one completes. One result for the reads
+    // and one for the writes, named after the scenario alone when it only does one of them.
+    private static List<Result> drive(IntFunction<Step> clients, int seconds, String name) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofSeconds(seconds).toNanos();
+
+        List<Future<Latencies[]>> workers = new ArrayList<>(CONCURRENCY);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                int offset = c;
+                Step step = clients.apply(c);
+                workers.add(executor.submit(() -> {
+                    Latencies reads = new Latencies();
+                    Latencies writes = new Latencies();
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        step.run(i, reads, writes);
+                        if (THINK_MILLIS > 0) Thread.sleep(THINK_MILLIS);
+                    }
+                    return new Latencies[] {reads, writes};
+                }));
+            }
+        }
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        Latencies reads = new Latencies();
+        Latencies writes = new Latencies();
+        for (Future<Latencies[]> worker : workers) {
+            reads.addAll(worker.get()[0]);
+            writes.addAll(worker.get()[1]);
+        }
+        if (reads.count == 0 || writes.count == 0) {
+            return List.of((reads.count > 0 ? reads : writes).result(name, elapsedSeconds));
+        }
+        return List.of(reads.result(name + "/reads", elapsedSeconds), writes.result(name + "/writes", elapsedSeconds));
+    }
+
+    // A client's next request, or requests, each latency recorded with the reads or the writes
+    private interface Step {
+        void run(int i, Latencies reads, Latencies writes) throws InterruptedException;
+    }
+
+    private enum Workload {
+        READS, CREATES, CACHE
+    }
+
+    // paths: what the readers request; args: extra application arguments for this scenario's server
+    private record Scenario(String name, boolean virtual, List<String> paths, Workload workload, List<String> args) {
+    }
+
+    // Latencies of one client, later of all of them, plus the read-after-update checks among them
+    private static final class Latencies {
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+        private long checks;
+        private long stale;
+
+        private void add(long latency, boolean failed) {
+            if (count == nanos.length) nanos = Arrays.copyOf(nanos, count * 2);
+            nanos[count++] = latency;
+            if (failed) errors++;
+        }
+
+        private void addAll(Latencies other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.nanos[i], false);
+            }
+            errors += other.errors;
+            checks += other.checks;
+            stale += other.stale;
+        }
+
+        private Result result(String name, double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return new Result(name, sorted, count / elapsedSeconds, errors, checks, stale);
+        }
+    }
+
+    private static final class Result {
+        private final String name;
+        private final long[] sortedLatencies;
+        private final double throughput;
+        private final long errors;
+        private final long checks;
+        private final long stale;
+
+        private Result(String name, long[] sortedLatencies, double throughput, long errors, long checks, long stale) {
+            this.name = name;
+            this.sortedLatencies = sortedLatencies;
+            this.throughput = throughput;
+            this.errors = errors;
+            this.checks = checks;
+            this.stale = stale;
+        }
+
+        // Latency at the given percentile in milliseconds
+        private double percentile(double p) {
+            if (sortedLatencies.length == 0) return 0;
+            int index = (int) Math.ceil(p / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))] / 1e6;
+        }
+    }
+}
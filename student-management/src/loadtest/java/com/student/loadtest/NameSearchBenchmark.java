@@ -0,0 +1,151 @@
+package com.student.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Compares the old name search (findByNameContainingIgnoreCase: UPPER(name) LIKE '%term%', every match)
+// with the ranked trigram one of StudentRepository.searchByNameRanked (first page and its count) on a
+// Postgres database. Fills the students table up to loadtest.rows with generated names first, creates
+// the pg_trgm index of database-setup.sql if it is missing, then prints each query's plan and latency.
+// Use a scratch database: the generated rows stay.
+//
+//   ./gradlew nameSearchBenchmark -Ploadtest.jdbcUrl=jdbc:postgresql://localhost:5432/benchdb -Ploadtest.rows=1000000
+public class NameSearchBenchmark {
+
+    private static final String JDBC_URL = System.getProperty("loadtest.jdbcUrl", "jdbc:postgresql://localhost:5432/airodb");
+    private static final String USERNAME = System.getProperty("loadtest.username", "postgres");
+    private static final String PASSWORD = System.getProperty("loadtest.password", "");
+    private static final int ROWS = Integer.getInteger("loadtest.rows", 1_000_000);
+    private static final int RUNS = Integer.getInteger("loadtest.runs", 50);
+    private static final int PAGE_SIZE = 20;
+    // A rare syllable pair, a common syllable, and a term no name contains
+    private static final List<String> TERMS = Arrays.stream(System.getProperty("loadtest.terms", "karo,lin,zzq")
+            .split(",")).map(String::trim).toList();
+
+    private static final String[] SYLLABLES = {"an", "bel", "car", "dan", "el", "fin", "gar", "har", "is", "jo",
+            "kar", "lin", "mar", "nor", "ol", "pet", "qu", "ro", "sam", "tor", "ul", "vic", "wil", "xa", "yan", "zo"};
+
+    private static final String OLD_QUERY = "SELECT * FROM students s WHERE UPPER(s.name) LIKE UPPER(?)";
+    private static final String RANKED_QUERY = "SELECT * FROM students s WHERE s.name ILIKE CONCAT('%', ?, '%') " +
+            "ORDER BY (s.name ILIKE CONCAT(?, '%')) DESC, similarity(s.name, ?) DESC, s.id LIMIT " + PAGE_SIZE;
+    private static final String RANKED_COUNT = "SELECT COUNT(*) FROM students s WHERE s.name ILIKE CONCAT('%', ?, '%')";
+
+    public static void main(String[] args) throws Exception {
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, USERNAME, PASSWORD)) {
+            prepare(connection);
+
+            List<String[]> rows = new ArrayList<>();
+            for (String term : TERMS) {
+                String pattern = "%" + term + "%";
+                System.out.printf("%n== old query, term '%s'%n", term);
+                explain(connection, OLD_QUERY, pattern);
+                double[] old = time(connection, OLD_QUERY, pattern);
+
+                System.out.printf("%n== ranked query, term '%s'%n", term);
+                explain(connection, RANKED_QUERY, term, term, term);
+                explain(connection, RANKED_COUNT, term);
+                double[] ranked = time(connection, RANKED_QUERY, term, term, term);
+                double[] count = time(connection, RANKED_COUNT, term);
+
+                rows.add(new String[] {term, "old (all matches)", format(old)});
+                rows.add(new String[] {term, "ranked page", format(ranked)});
+                rows.add(new String[] {term, "ranked count", format(count)});
+            }
+
+            System.out.printf("%n%-8s %-18s %10s %10s %10s%n", "term", "query", "rows", "p50 ms", "p99 ms");
+            for (String[] row : rows) {
+                System.out.printf("%-8s %-18s %s%n", row[0], row[1], row[2]);
+            }
+        }
+    }
+
+    // Top the table up to ROWS generated students and make sure the trigram index and statistics exist
+    private static void prepare(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long existing = count(statement);
+            if (existing < ROWS) {
+                System.out.printf("Inserting %d students%n", ROWS - existing);
+                StringBuilder syllables = new StringBuilder("ARRAY[");
+                for (int i = 0; i < SYLLABLES.length; i++) {
+                    syllables.append(i == 0 ? "'" : ",'").append(SYLLABLES[i]).append("'");
+                }
+                syllables.append("]");
+                // Two generated words of two syllables each, e.g. "Karlin Torsam"
+                statement.executeUpdate("INSERT INTO students (id, name, course, fee, email, phone, status, version, " +
+                        "created_at, updated_at) " +
+                        "SELECT nextval('students_id_seq'), INITCAP(s[1 + x % 26] || s[1 + (x / 26) % 26]) || ' ' || " +
+                        "INITCAP(s[1 + (x / 676) % 26] || s[1 + (x / 17576) % 26]), " +
+                        "'Course ' || x % 8, 1000 + x % 500, 'namebench' || x || '@example.com', " +
+                        "'+1' || (7000000000 + x), 'ACTIVE', 0, LOCALTIMESTAMP, LOCALTIMESTAMP " +
+                        "FROM generate_series(" + existing + ", " + (ROWS - 1) + ") AS x, (SELECT " + syllables + ") AS a(s)");
+            }
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_students_name_trgm ON students USING gin (name gin_trgm_ops)");
+            statement.execute("ANALYZE students");
+            System.out.printf("students: %d rows%n", count(statement));
+        }
+    }
+
+    private static long count(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM students")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void explain(Connection connection, String sql, String... params) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+            bind(statement, params);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    System.out.println(rs.getString(1));
+                }
+            }
+        }
+    }
+
+    // Rows returned, then p50 and p99 in milliseconds over RUNS executions after a few warm-up runs
+    private static double[] time(Connection connection, String sql, String... params) throws SQLException {
+        long[] latencies = new long[RUNS];
+        long rows = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, params);
+            for (int i = -5; i < RUNS; i++) {
+                long start = System.nanoTime();
+                rows = 0;
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        rows++;
+                    }
+                }
+                if (i >= 0) {
+                    latencies[i] = System.nanoTime() - start;
+                }
+            }
+        }
+        Arrays.sort(latencies);
+        return new double[] {rows, percentile(latencies, 50), percentile(latencies, 99)};
+    }
+
+    private static void bind(PreparedStatement statement, String... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            statement.setString(i + 1, params[i]);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static String format(double[] result) {
+        return String.format("%10d %10.2f %10.2f", (long) result[0], result[1], result[2]);
+    }
+}
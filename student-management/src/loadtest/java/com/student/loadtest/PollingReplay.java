@@ -0,0 +1,164 @@
+package com.student.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Replays the frontend's polling against a running server three ways: plain, gzip, and gzip with
+// If-None-Match, while a background writer changes a student now and then. Prints bytes on the wire
+// and latency per mode so the effect of compression and conditional GETs can be compared.
+//
+//   ./gradlew pollingReplay -Ploadtest.baseUrl=http://localhost:8081 -Ploadtest.durationSeconds=30
+public class PollingReplay {
+
+    private static final String BASE_URL = System.getProperty("loadtest.baseUrl", "http://localhost:8081");
+    private static final int CLIENTS = Integer.getInteger("loadtest.concurrency", 20);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 20);
+    // Pause between a client's polls
+    private static final int THINK_MILLIS = Integer.getInteger("loadtest.thinkMillis", 500);
+    // How often the background writer changes a student, 0 disables it
+    private static final int WRITE_EVERY_MILLIS = Integer.getInteger("loadtest.writeEveryMillis", 5000);
+    private static final List<String> PATHS = Arrays.stream(System.getProperty("loadtest.paths",
+            "/api/students?page=0&size=100,/api/students/1,/api/students/all").split(",")).map(String::trim).toList();
+
+    enum Mode { PLAIN, GZIP, GZIP_ETAG }
+
+    public static void main(String[] args) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        List<Result> results = new ArrayList<>();
+        for (Mode mode : Mode.values()) {
+            System.out.printf("[%s] polling %s with %d clients for %ds%n", mode, PATHS, CLIENTS, DURATION_SECONDS);
+            results.add(replay(client, mode));
+        }
+
+        System.out.printf("%n%-10s %10s %8s %14s %12s %10s %10s%n", "mode", "requests", "304 %", "wire bytes", "bytes/req", "p50 ms", "p99 ms");
+        for (Result result : results) {
+            System.out.printf("%-10s %10d %8.1f %14d %12d %10.2f %10.2f%n", result.mode, result.requests(),
+                    100.0 * result.notModified / Math.max(1, result.requests()), result.bytes,
+                    result.bytes / Math.max(1, result.requests()), result.percentile(50), result.percentile(99));
+        }
+    }
+
+    private static Result replay(HttpClient client, Mode mode) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(DURATION_SECONDS).toNanos();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<Result>> workers = new ArrayList<>();
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> writer = WRITE_EVERY_MILLIS > 0 ? pool.submit(() -> write(client, running)) : null;
+            for (int c = 0; c < CLIENTS; c++) {
+                int offset = c;
+                workers.add(pool.submit(() -> {
+                    Result result = new Result(mode);
+                    // The client's cache: last ETag per path
+                    Map<String, String> etags = new HashMap<>();
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        String path = PATHS.get(i % PATHS.size());
+                        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                                .timeout(Duration.ofSeconds(30));
+                        if (mode != Mode.PLAIN) {
+                            request.header("Accept-Encoding", "gzip");
+                        }
+                        if (mode == Mode.GZIP_ETAG && etags.containsKey(path)) {
+                            request.header("If-None-Match", etags.get(path));
+                        }
+
+                        long start = System.nanoTime();
+                        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                        result.record(System.nanoTime() - start, response.body().length, response.statusCode() == 304);
+                        response.headers().firstValue("ETag").ifPresent(etag -> etags.put(path, etag));
+                        if (THINK_MILLIS > 0) {
+                            Thread.sleep(THINK_MILLIS);
+                        }
+                    }
+                    return result;
+                }));
+            }
+
+            Result total = new Result(mode);
+            for (Future<Result> worker : workers) {
+                total.add(worker.get());
+            }
+            running.set(false);
+            if (writer != null) {
+                writer.get();
+            }
+            return total;
+        }
+    }
+
+    // Keeps the data moving so conditional polls also see real changes
+    private static Void write(HttpClient client, AtomicBoolean running) throws Exception {
+        while (running.get()) {
+            String body = "{\"fee\":" + (1000 + ThreadLocalRandom.current().nextInt(500)) + "}";
+            client.send(HttpRequest.newBuilder(URI.create(BASE_URL + "/api/students/1"))
+                    .header("Content-Type", "application/json")
+                    .header("If-Match", "*")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            Thread.sleep(WRITE_EVERY_MILLIS);
+        }
+        return null;
+    }
+
+    private static final class Result {
+        private final Mode mode;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long bytes;
+        private long notModified;
+
+        private Result(Mode mode) {
+            this.mode = mode;
+        }
+
+        void record(long latencyNanos, int bodyBytes, boolean wasNotModified) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            bytes += bodyBytes;
+            if (wasNotModified) {
+                notModified++;
+            }
+        }
+
+        void add(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], 0, false);
+            }
+            bytes += other.bytes;
+            notModified += other.notModified;
+        }
+
+        int requests() {
+            return count;
+        }
+
+        double percentile(int p) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = Math.min(count - 1, (int) Math.ceil(p / 100.0 * count) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.student.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Concurrency stress test for the email/phone uniqueness checks. Fires many concurrent creates that
+// draw their email and phone from a small pool, then verifies that at most one student per value
+// was created, both from the responses and from what the API lists afterwards. Exits 1 on a duplicate.
+//
+//   ./gradlew uniquenessStress -Ploadtest.baseUrl=http://localhost:8081 -Ploadtest.requests=10000
+public class UniquenessStressTest {
+
+    private static final String BASE_URL = System.getProperty("loadtest.baseUrl", "http://localhost:8081");
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 200);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 5000);
+    private static final int DISTINCT_VALUES = Integer.getInteger("loadtest.distinctValues", 50);
+
+    public static void main(String[] args) throws Exception {
+        // Unique per run so earlier runs' rows do not count
+        String run = Long.toString(System.currentTimeMillis() % 100_000_000L);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> createdByValue = new ConcurrentHashMap<>();
+        AtomicInteger next = new AtomicInteger();
+
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                workers.add(pool.submit(() -> {
+                    while (next.getAndIncrement() < REQUESTS) {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        String email = "stress" + run + "-" + random.nextInt(DISTINCT_VALUES) + "@example.com";
+                        String phone = "+1" + run + String.format("%03d", random.nextInt(DISTINCT_VALUES));
+                        String body = "{\"name\":\"Stress Test\",\"course\":\"Load Testing\",\"fee\":100.0,"
+                                + "\"email\":\"" + email + "\",\"phone\":\"" + phone + "\",\"status\":\"ACTIVE\"}";
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(BASE_URL + "/api/students"))
+                                .header("Content-Type", "application/json")
+                                .timeout(Duration.ofSeconds(30))
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build();
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+                        if (status == 201) {
+                            createdByValue.computeIfAbsent(email, v -> new AtomicInteger()).incrementAndGet();
+                            createdByValue.computeIfAbsent(phone, v -> new AtomicInteger()).incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+
+        System.out.println("Responses by status: " + statuses);
+        List<String> failures = new ArrayList<>();
+        createdByValue.forEach((value, count) -> {
+            if (count.get() > 1) failures.add(value + " created " + count + " times");
+        });
+
+        // Cross-check with what was actually stored
+        String all = client.send(HttpRequest.newBuilder(URI.create(BASE_URL + "/api/students/all")).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Map<String, Integer> stored = new HashMap<>();
+        Matcher matcher = Pattern.compile("\"(?:email|phone)\":\"((?:stress|\\+1)" + Pattern.quote(run) + "[^\"]*)\"").matcher(all);
+        while (matcher.find()) {
+            stored.merge(matcher.group(1), 1, Integer::sum);
+        }
+        stored.forEach((value, count) -> {
+            if (count > 1) failures.add(value + " stored " + count + " times");
+        });
+
+        if (statuses.keySet().stream().anyMatch(status -> status != 201 && status != 409)) {
+            failures.add("unexpected statuses " + statuses);
+        }
+        System.out.println("Stored students with run values: " + stored.size() / 2 + ", distinct values per field: " + DISTINCT_VALUES);
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.out.println("FAIL: " + failure));
+            System.exit(1);
+        }
+        System.out.println("OK: no duplicate email or phone got through");
+    }
+}
@@ -0,0 +1,51 @@
+package com.student.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "student.datasource.admission.enabled", havingValue = "true")
+public class ConnectionAdmissionConfig {
+
+    // Wrap the application DataSource with the admission limit, 0 permits means "same as the pool size"
+    @Bean
+    public static BeanPostProcessor connectionAdmission(Environment env) {
+        return new AdmissionPostProcessor(env);
+    }
+
+    // Ordered so it wraps the primary pool before ReadReplicaConfig puts the routing proxy around it
+    private static final class AdmissionPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment env;
+
+        private AdmissionPostProcessor(Environment env) {
+            this.env = env;
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                    || bean instanceof AdmissionControlledDataSource) {
+                return bean;
+            }
+            int maxConcurrent = env.getProperty("student.datasource.admission.max-concurrent", Integer.class, 0);
+            if (maxConcurrent <= 0) {
+                maxConcurrent = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+            }
+            long timeoutMs = env.getProperty("student.datasource.admission.timeout-ms", Long.class, 30000L);
+            return new AdmissionControlledDataSource(dataSource, maxConcurrent, timeoutMs);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.student.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LoggingConfig {
+
+    // Register the sampling SQL logger with Hibernate when a sample rate is configured
+    @Bean
+    public HibernatePropertiesCustomizer sampledSqlLogging(@Value("${student.logging.sql-sample-rate:0}") double sampleRate) {
+        return properties -> {
+            if (sampleRate > 0) {
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SampledSqlStatementInspector(sampleRate));
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.student.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// JDBC/JPA beans declared explicitly: with R2DBC on the classpath Spring Boot backs off from
+// auto-configuring the DataSource, and the reactive transaction manager would suppress the JPA one.
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class PersistenceConfig {
+
+    // Pool built from spring.datasource.*, tuned through spring.datasource.hikari.*
+    // (an explicit maximum-pool-size there overrides the derived size)
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties,
+                                       @Value("${student.datasource.max-db-connections:40}") int maxDbConnections) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setMaximumPoolSize(poolSize(Runtime.getRuntime().availableProcessors(), maxDbConnections));
+        return dataSource;
+    }
+
+    // cores * 2 + 1 (HikariCP's rule of thumb for SSD-backed Postgres), capped by this instance's
+    // share of the server's max_connections
+    static int poolSize(int cores, int maxDbConnections) {
+        return Math.max(2, Math.min(cores * 2 + 1, maxDbConnections));
+    }
+
+    // Keeps @Transactional resolving to JPA by default
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+}
@@ -0,0 +1,137 @@
+package com.student.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Sends @Transactional(readOnly = true) work to read replicas and everything else to the primary.
+// The connection is only fetched at the first statement, when the transaction's read-only flag is
+// known, so the choice needs no routing key of its own.
+@Configuration
+@ConditionalOnProperty(name = "student.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public static DestructionAwareBeanPostProcessor readReplicaRouting(Environment env) {
+        return new RoutingPostProcessor(env);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${student.datasource.replicas.read-your-writes-ms:2000}") long windowMs) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(windowMs));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    // Runs after ConnectionAdmissionConfig, whose limit stays on the primary pool (each replica pool gets its own)
+    private static final class RoutingPostProcessor implements DestructionAwareBeanPostProcessor, Ordered {
+
+        private final Environment env;
+        private ReplicaRoutingDataSource router;
+
+        private RoutingPostProcessor(Environment env) {
+            this.env = env;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)
+                    || bean instanceof LazyConnectionDataSourceProxy) {
+                return bean;
+            }
+            List<String> urls = Arrays.stream(env.getProperty("student.datasource.replicas.urls", "").split(","))
+                    .map(String::trim)
+                    .filter(url -> !url.isEmpty())
+                    .toList();
+
+            try {
+                HikariDataSource primaryPool = primary.isWrapperFor(HikariDataSource.class)
+                        ? primary.unwrap(HikariDataSource.class) : null;
+                List<DataSource> replicas = new ArrayList<>();
+                List<String> names = new ArrayList<>();
+                for (String url : urls) {
+                    HikariDataSource pool = replicaPool(primaryPool, url, replicas.size() + 1);
+                    names.add(pool.getPoolName());
+                    replicas.add(admitted(pool));
+                }
+                router = new ReplicaRoutingDataSource(primary, replicas, names,
+                        env.getProperty("student.datasource.replicas.retry-after-ms", Long.class, 30000L));
+            } catch (SQLException e) {
+                throw new BeanInitializationException("Could not set up read replicas", e);
+            }
+
+            LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+            proxy.setReadOnlyDataSource(router);
+            return proxy;
+        }
+
+        // Same pool settings as the primary, but read-only and quick to give up on a replica that is down
+        private HikariDataSource replicaPool(HikariDataSource primaryPool, String url, int number) {
+            HikariConfig config = new HikariConfig();
+            if (primaryPool != null) {
+                primaryPool.copyStateTo(config);
+            }
+            config.setJdbcUrl(url);
+            config.setUsername(env.getProperty("student.datasource.replicas.username", env.getProperty("spring.datasource.username")));
+            config.setPassword(env.getProperty("student.datasource.replicas.password", env.getProperty("spring.datasource.password")));
+            config.setPoolName((primaryPool != null ? primaryPool.getPoolName() : "student-pool") + "-replica-" + number);
+            config.setReadOnly(true);
+            config.setConnectionTimeout(env.getProperty("student.datasource.replicas.connection-timeout-ms", Long.class, 1000L));
+            // Start even if the replica is down, the router skips it until it answers
+            config.setInitializationFailTimeout(-1);
+            return new HikariDataSource(config);
+        }
+
+        private DataSource admitted(HikariDataSource pool) {
+            if (!env.getProperty("student.datasource.admission.enabled", Boolean.class, false)) {
+                return pool;
+            }
+            long timeoutMs = env.getProperty("student.datasource.admission.timeout-ms", Long.class, 30000L);
+            return new AdmissionControlledDataSource(pool, pool.getMaximumPoolSize(), timeoutMs);
+        }
+
+        @Override
+        public void postProcessBeforeDestruction(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof LazyConnectionDataSourceProxy proxy)) {
+                return;
+            }
+            try {
+                if (router != null) {
+                    router.close();
+                }
+                // The proxy hides the pool's close() from Spring's destroy-method inference
+                if (proxy.isWrapperFor(HikariDataSource.class)) {
+                    proxy.unwrap(HikariDataSource.class).close();
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not close the connection pools", e);
+            }
+        }
+
+        @Override
+        public boolean requiresDestruction(Object bean) {
+            return bean instanceof LazyConnectionDataSourceProxy;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.student.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+// Hands out read-only connections from the replicas in turn. A replica that fails to give a
+// connection is skipped for a while, and when none is usable (or the caller is pinned to the
+// primary for read-your-writes) the primary serves the read instead.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    // Set for the current thread while its reads must see its own writes
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long retryAfterMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, List<String> names, long retryAfterMs) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(i -> new Replica(names.get(i), replicas.get(i)))
+                .toList();
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    // Send this thread's read-only transactions to the primary until unpinned
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PINNED_TO_PRIMARY.get() != null || replicas.isEmpty()) {
+            return primary.getConnection();
+        }
+        long now = System.currentTimeMillis();
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.downUntil > now) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.up();
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                replica.down(now + retryAfterMs, e);
+            }
+        }
+        // Every replica is down, reads fall back to the primary until one answers again
+        return primary.getConnection();
+    }
+
+    // Replica pools only know their own credentials, so reads for another user go to the primary
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    // Closes the replica pools, the primary belongs to the application context. Every pool is closed
+    // even when one fails; the failures come back as one SQLException.
+    @Override
+    public void close() throws SQLException {
+        SQLException failure = null;
+        for (Replica replica : replicas) {
+            try {
+                if (replica.dataSource instanceof Closeable closeable) {
+                    closeable.close();
+                } else if (replica.dataSource.isWrapperFor(Closeable.class)) {
+                    replica.dataSource.unwrap(Closeable.class).close();
+                }
+            } catch (IOException | SQLException | RuntimeException e) {
+                if (failure == null) {
+                    failure = new SQLException("Could not close every read replica pool");
+                }
+                failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // Skipped until then after a failed checkout, 0 while healthy
+        private volatile long downUntil;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void up() {
+            if (downUntil != 0) {
+                downUntil = 0;
+                log.info("Read replica {} is back, routing reads to it again", name);
+            }
+        }
+
+        void down(long until, Exception cause) {
+            if (downUntil == 0) {
+                log.warn("Read replica {} is unavailable, skipping it for now: {}", name, cause.getMessage());
+            }
+            downUntil = until;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.student.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Logs a random sample of SQL statements instead of echoing every one
+public class SampledSqlStatementInspector implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger("com.student.sql");
+
+    private final double sampleRate;
+
+    public SampledSqlStatementInspector(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.debug("Sampled SQL: {}", sql);
+        }
+        return sql;
+    }
+}
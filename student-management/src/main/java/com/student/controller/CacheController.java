@@ -0,0 +1,32 @@
+package com.student.controller;
+
+import com.student.dto.ApiResponse;
+import com.student.dto.CacheStats;
+import com.student.service.CacheStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    // Get hit, miss and eviction metrics of the student caches
+    @GetMapping("/statistics")
+    public ResponseEntity<ApiResponse<List<CacheStats>>> getCacheStatistics() {
+        try {
+            List<CacheStats> stats = cacheStatisticsService.getCacheStatistics();
+            return ResponseEntity.ok(ApiResponse.success(stats, "Cache statistics retrieved successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error retrieving cache statistics: " + e.getMessage(), 500));
+        }
+    }
+}
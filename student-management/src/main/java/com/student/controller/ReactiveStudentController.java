@@ -0,0 +1,66 @@
+package com.student.controller;
+
+import com.student.dto.ApiResponse;
+import com.student.dto.StudentDTO;
+import com.student.model.Student;
+import com.student.service.ReactiveStudentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking variant of the read endpoints. Ask for application/x-ndjson to have rows streamed
+// as they arrive from the database; application/json collects them into one array.
+@RestController
+@RequestMapping("/api/reactive/students")
+@CrossOrigin(origins = "*")
+public class ReactiveStudentController {
+
+    @Autowired
+    private ReactiveStudentService service;
+
+    // Get one page of students
+    @GetMapping(produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public Flux<StudentDTO> getStudents(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        return service.getStudents(page, size, sortBy, sortDir);
+    }
+
+    // Get student by ID
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<StudentDTO>>> getStudent(@PathVariable Long id) {
+        return service.getStudent(id)
+                .map(student -> ResponseEntity.ok(ApiResponse.success(student, "Student retrieved successfully")))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Student not found with id: " + id, 404)));
+    }
+
+    // Get students by course
+    @GetMapping(value = "/course/{course}", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public Flux<StudentDTO> getByCourse(@PathVariable String course) {
+        return service.getByCourse(course);
+    }
+
+    // Get students by status
+    @GetMapping(value = "/status/{status}", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public Flux<StudentDTO> getByStatus(@PathVariable Student.StudentStatus status) {
+        return service.getByStatus(status);
+    }
+
+    // Search with multiple criteria
+    @GetMapping(value = "/search", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public Flux<StudentDTO> searchByCriteria(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String course,
+            @RequestParam(required = false) Student.StudentStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return service.searchByCriteria(name, course, status, page, size);
+    }
+}
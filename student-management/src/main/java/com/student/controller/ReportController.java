@@ -0,0 +1,54 @@
+package com.student.controller;
+
+import com.student.dto.ApiResponse;
+import com.student.dto.CourseStatsDTO;
+import com.student.service.ReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "*")
+public class ReportController {
+
+    @Autowired
+    private ReportService reportService;
+
+    // Get enrollment, fee and status summary per course
+    @GetMapping("/courses")
+    public ResponseEntity<ApiResponse<Page<CourseStatsDTO>>> getCourseStats(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "course") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        try {
+            Page<CourseStatsDTO> courses = reportService.getCourseStats(page, size, sortBy, sortDir);
+            return ResponseEntity.ok(ApiResponse.success(courses, "Course report retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error retrieving course report: " + e.getMessage(), 500));
+        }
+    }
+
+    // Get the summary of one course
+    @GetMapping("/courses/{course}")
+    public ResponseEntity<ApiResponse<CourseStatsDTO>> getCourse(@PathVariable String course) {
+        try {
+            CourseStatsDTO stats = reportService.getCourseStats(course);
+            return ResponseEntity.ok(ApiResponse.success(stats, "Course summary retrieved successfully"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage(), 404));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error retrieving course summary: " + e.getMessage(), 500));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.student.controller;
+
+import com.student.service.StudentChangeStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/students/changes")
+@CrossOrigin(origins = "*")
+public class StudentChangeController {
+
+    @Autowired
+    private StudentChangeStream changeStream;
+
+    // Stream student changes after position since as Server-Sent Events; a reconnecting
+    // EventSource resumes from its Last-Event-ID. A "reset" event means older changes were purged.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeStream.subscribe(lastEventId != null ? lastEventId : since);
+    }
+}
@@ -1,17 +1,38 @@
 package com.student.controller;
 
 import com.student.dto.ApiResponse;
+import com.student.dto.BatchResult;
+import com.student.dto.BulkUpdateRequest;
+import com.student.dto.BulkUpdateResult;
+import com.student.dto.CursorPage;
 import com.student.dto.StudentDTO;
+import com.student.dto.StudentSearchCriteria;
+import com.student.dto.StudentSuggestion;
+import com.student.exception.DuplicateStudentException;
+import com.student.exception.GlobalExceptionHandler;
 import com.student.model.Student;
+import com.student.service.StudentBatchService;
+import com.student.service.StudentBulkUpdateService;
+import com.student.service.StudentChangeTracker;
+import com.student.service.StudentExportService;
+import com.student.service.StudentSearchIndex;
 import com.student.service.StudentService;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/students")
@@ -21,17 +42,92 @@ public class StudentController {
     @Autowired
     private StudentService service;
 
+    @Autowired
+    private StudentExportService exportService;
+
+    @Autowired
+    private StudentBatchService batchService;
+
+    @Autowired
+    private StudentBulkUpdateService bulkUpdateService;
+
+    @Autowired
+    private StudentSearchIndex searchIndex;
+
+    @Autowired
+    private StudentChangeTracker changeTracker;
+
     // Get all students with pagination
     @GetMapping
     public ResponseEntity<ApiResponse<Page<StudentDTO>>> getAllStudents(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            WebRequest request) {
         
+        // Nothing changed since the client's copy: 304 without querying the page
+        if (request.checkNotModified(changeTracker.etag())) {
+            return null;
+        }
         try {
             Page<StudentDTO> students = service.getAllStudents(page, size, sortBy, sortDir);
-            return ResponseEntity.ok(ApiResponse.success(students, "Students retrieved successfully"));
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(ApiResponse.success(students, "Students retrieved successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error retrieving students: " + e.getMessage(), 500));
+        }
+    }
+
+    // Get a page of students with only the listed fields, e.g. ?fields=id,name,course,fee
+    @GetMapping(params = {"fields", "!cursor"})
+    public ResponseEntity<ApiResponse<Page<Map<String, Object>>>> getStudentFields(
+            @RequestParam String fields,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            WebRequest request) {
+
+        if (request.checkNotModified(changeTracker.etag())) {
+            return null;
+        }
+        try {
+            Page<Map<String, Object>> students = service.getStudentFields(fields, page, size, sortBy, sortDir);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(ApiResponse.success(students, "Students retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error retrieving students: " + e.getMessage(), 500));
+        }
+    }
+
+    // Get students with keyset pagination (pass an empty cursor for the first slice)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<StudentDTO>>> getStudentsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            WebRequest request) {
+
+        if (request.checkNotModified(changeTracker.etag())) {
+            return null;
+        }
+        try {
+            CursorPage<StudentDTO> students = service.getStudentsAfter(cursor, size, sortBy, sortDir);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(ApiResponse.success(students, "Students retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Error retrieving students: " + e.getMessage(), 500));
@@ -40,16 +136,60 @@ public class StudentController {
 
     // Get all students (without pagination)
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<StudentDTO>>> getAllStudentsList() {
+    public ResponseEntity<ApiResponse<List<StudentDTO>>> getAllStudentsList(WebRequest request) {
+        if (request.checkNotModified(changeTracker.etag())) {
+            return null;
+        }
         try {
             List<StudentDTO> students = service.getAllStudents();
-            return ResponseEntity.ok(ApiResponse.success(students, "All students retrieved successfully"));
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(ApiResponse.success(students, "All students retrieved successfully"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Error retrieving students: " + e.getMessage(), 500));
         }
     }
 
+    // Get all students with only the listed fields
+    @GetMapping(value = "/all", params = "fields")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAllStudentFields(
+            @RequestParam String fields,
+            WebRequest request) {
+        if (request.checkNotModified(changeTracker.etag())) {
+            return null;
+        }
+        try {
+            List<Map<String, Object>> students = service.getAllStudentFields(fields);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(ApiResponse.success(students, "All students retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error retrieving students: " + e.getMessage(), 500));
+        }
+    }
+
+    // Export all students as a stream (ndjson or csv)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "ndjson") String format) {
+        StudentExportService.ExportFormat exportFormat;
+        try {
+            exportFormat = StudentExportService.ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> exportService.exportStudents(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=students." + exportFormat.getExtension())
+                .body(body);
+    }
+
     // Create new student
     @PostMapping
     public ResponseEntity<ApiResponse<StudentDTO>> createStudent(@Valid @RequestBody StudentDTO studentDTO) {
@@ -57,6 +197,12 @@ public class StudentController {
             StudentDTO createdStudent = service.saveStudent(studentDTO);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success(createdStudent, "Student created successfully"));
+        } catch (DuplicateStudentException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage(), 409));
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(GlobalExceptionHandler.CONFLICT_MESSAGE, 409));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage(), 400));
@@ -66,12 +212,107 @@ public class StudentController {
         }
     }
 
+    // Create many students in one request
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchResult>> createStudents(@RequestBody List<StudentDTO> students) {
+        try {
+            BatchResult result = batchService.createStudents(students);
+            return ResponseEntity.ok(ApiResponse.success(result, batchMessage(result)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error creating students: " + e.getMessage(), 500));
+        }
+    }
+
+    // Update many students in one request
+    @PutMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchResult>> updateStudents(@RequestBody List<StudentDTO> students) {
+        try {
+            BatchResult result = batchService.updateStudents(students);
+            return ResponseEntity.ok(ApiResponse.success(result, batchMessage(result)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error updating students: " + e.getMessage(), 500));
+        }
+    }
+
+    // Delete many students in one request
+    @DeleteMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchResult>> deleteStudents(@RequestBody List<Long> ids) {
+        try {
+            BatchResult result = batchService.deleteStudents(ids);
+            return ResponseEntity.ok(ApiResponse.success(result, batchMessage(result)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error deleting students: " + e.getMessage(), 500));
+        }
+    }
+
+    // Change the fee of every student matching the filter by feePercent, ?dryRun=true only counts them
+    @PostMapping("/bulk/fee")
+    public ResponseEntity<ApiResponse<BulkUpdateResult>> adjustFees(
+            @RequestBody BulkUpdateRequest request,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        try {
+            BulkUpdateResult result = bulkUpdateService.adjustFees(request, dryRun);
+            return ResponseEntity.ok(ApiResponse.success(result, bulkMessage(result)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error adjusting fees: " + e.getMessage(), 500));
+        }
+    }
+
+    // Move every student matching the filter to newStatus, ?dryRun=true only counts them
+    @PostMapping("/bulk/status")
+    public ResponseEntity<ApiResponse<BulkUpdateResult>> transitionStatus(
+            @RequestBody BulkUpdateRequest request,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        try {
+            BulkUpdateResult result = bulkUpdateService.transitionStatus(request, dryRun);
+            return ResponseEntity.ok(ApiResponse.success(result, bulkMessage(result)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error changing status: " + e.getMessage(), 500));
+        }
+    }
+
+    private static String bulkMessage(BulkUpdateResult result) {
+        return result.isDryRun()
+                ? result.getRows() + " students would be updated"
+                : result.getRows() + " students updated";
+    }
+
+    private static String batchMessage(BatchResult result) {
+        return "Batch processed: " + result.getSucceeded() + " succeeded, " + result.getFailed() + " failed";
+    }
+
     // Get student by ID
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<StudentDTO>> getStudent(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<StudentDTO>> getStudent(@PathVariable Long id, WebRequest request) {
         try {
+            // Normally a second-level cache hit; the ETag is the row version, same as PUT/PATCH return
             StudentDTO student = service.getStudent(id);
-            return ResponseEntity.ok(ApiResponse.success(student, "Student retrieved successfully"));
+            if (request.checkNotModified(etag(student))) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(ApiResponse.success(student, "Student retrieved successfully"));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(e.getMessage(), 404));
@@ -88,7 +329,18 @@ public class StudentController {
             @Valid @RequestBody StudentDTO studentDTO) {
         try {
             StudentDTO updatedStudent = service.updateStudent(id, studentDTO);
-            return ResponseEntity.ok(ApiResponse.success(updatedStudent, "Student updated successfully"));
+            return ResponseEntity.ok()
+                    .eTag(etag(updatedStudent))
+                    .body(ApiResponse.success(updatedStudent, "Student updated successfully"));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Student was modified concurrently, reload and retry", 409));
+        } catch (DuplicateStudentException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage(), 409));
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(GlobalExceptionHandler.CONFLICT_MESSAGE, 409));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage(), 400));
@@ -98,6 +350,68 @@ public class StudentController {
         }
     }
 
+    // Partially update student: only the fields present in the body change. The version to update
+    // comes from If-Match (the ETag of an earlier response) or the body; a stale one gets 409.
+    @PatchMapping("/{id}")
+    public ResponseEntity<ApiResponse<StudentDTO>> patchStudent(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody StudentDTO changes) {
+        if (ifMatch == null && changes.getVersion() == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                    .body(ApiResponse.error("If-Match header or version is required", 428));
+        }
+        try {
+            Long version = ifMatch != null ? versionOf(ifMatch) : changes.getVersion();
+            StudentDTO patchedStudent = service.patchStudent(id, version, changes);
+            return ResponseEntity.ok()
+                    .eTag(etag(patchedStudent))
+                    .body(ApiResponse.success(patchedStudent, "Student updated successfully"));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage(), 409));
+        } catch (DuplicateStudentException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage(), 409));
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(GlobalExceptionHandler.CONFLICT_MESSAGE, 409));
+        } catch (ConstraintViolationException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Validation failed: " + e.getMessage(), 400));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage(), 404));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error updating student: " + e.getMessage(), 500));
+        }
+    }
+
+    // Weak ETag carrying the row version (weak so compressed responses keep it)
+    private static String etag(StudentDTO student) {
+        return "W/\"" + student.getVersion() + "\"";
+    }
+
+    // Version named by an If-Match value; null for "*", which matches any current version
+    private static Long versionOf(String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        try {
+            return Long.valueOf(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must be an ETag returned by this API: " + ifMatch);
+        }
+    }
+
     // Delete student
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteStudent(@PathVariable Long id) {
@@ -115,9 +429,12 @@ public class StudentController {
 
     // Search students by name
     @GetMapping("/search/name")
-    public ResponseEntity<ApiResponse<List<StudentDTO>>> searchByName(@RequestParam String name) {
+    public ResponseEntity<ApiResponse<Page<StudentDTO>>> searchByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            List<StudentDTO> students = service.searchByName(name);
+            Page<StudentDTO> students = service.searchByName(name, page, size);
             return ResponseEntity.ok(ApiResponse.success(students, "Search completed successfully"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -125,6 +442,20 @@ public class StudentController {
         }
     }
 
+    // Type-ahead suggestions on name, email and course from the in-memory index
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<StudentSuggestion>>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<StudentSuggestion> suggestions = searchIndex.suggest(q, Math.max(1, Math.min(limit, 50)));
+            return ResponseEntity.ok(ApiResponse.success(suggestions, "Suggestions retrieved successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error retrieving suggestions: " + e.getMessage(), 500));
+        }
+    }
+
     // Get students by course
     @GetMapping("/course/{course}")
     public ResponseEntity<ApiResponse<List<StudentDTO>>> getByCourse(@PathVariable String course) {
@@ -149,18 +480,62 @@ public class StudentController {
         }
     }
 
-    // Search with multiple criteria
+    // Search with multiple criteria: name, course, status, minFee, maxFee, createdFrom/To, updatedFrom/To
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<Page<StudentDTO>>> searchByCriteria(
-            @RequestParam(required = false) String name,
-            @RequestParam(required = false) String course,
-            @RequestParam(required = false) Student.StudentStatus status,
+            StudentSearchCriteria criteria,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
         
         try {
-            Page<StudentDTO> students = service.searchByCriteria(name, course, status, page, size);
+            Page<StudentDTO> students = service.searchByCriteria(criteria, page, size, sortBy, sortDir);
+            return ResponseEntity.ok(ApiResponse.success(students, "Search completed successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error searching students: " + e.getMessage(), 500));
+        }
+    }
+
+    // Search with multiple criteria, returning only the listed fields
+    @GetMapping(value = "/search", params = {"fields", "!cursor"})
+    public ResponseEntity<ApiResponse<Page<Map<String, Object>>>> searchFieldsByCriteria(
+            @RequestParam String fields,
+            StudentSearchCriteria criteria,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        try {
+            Page<Map<String, Object>> students = service.searchFieldsByCriteria(fields, criteria, page, size, sortBy, sortDir);
+            return ResponseEntity.ok(ApiResponse.success(students, "Search completed successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error searching students: " + e.getMessage(), 500));
+        }
+    }
+
+    // Search with multiple criteria using keyset pagination
+    @GetMapping(value = "/search", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<StudentDTO>>> searchByCriteriaCursor(
+            StudentSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        try {
+            CursorPage<StudentDTO> students = service.searchByCriteriaAfter(criteria, cursor, size);
             return ResponseEntity.ok(ApiResponse.success(students, "Search completed successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Error searching students: " + e.getMessage(), 500));
@@ -0,0 +1,47 @@
+package com.student.controller;
+
+import com.student.dto.ApiResponse;
+import com.student.dto.ImportJobStatus;
+import com.student.service.StudentImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/students/import")
+@CrossOrigin(origins = "*")
+public class StudentImportController {
+
+    @Autowired
+    private StudentImportService importService;
+
+    // Upload a CSV roster, the import runs in the background
+    @PostMapping
+    public ResponseEntity<ApiResponse<ImportJobStatus>> startImport(@RequestParam("file") MultipartFile file) {
+        try {
+            ImportJobStatus job = importService.startImport(file);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success(job, "Import started"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), 400));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error starting import: " + e.getMessage(), 500));
+        }
+    }
+
+    // Get import progress and the rejected-rows report
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<ImportJobStatus>> getImport(@PathVariable String jobId) {
+        try {
+            ImportJobStatus job = importService.getJob(jobId);
+            return ResponseEntity.ok(ApiResponse.success(job, "Import job retrieved successfully"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage(), 404));
+        }
+    }
+}
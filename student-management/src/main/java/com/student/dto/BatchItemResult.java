@@ -0,0 +1,25 @@
+package com.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+
+    // Position of the item in the request
+    private int index;
+    private Long id;
+    private boolean success;
+    private String message;
+
+    public static BatchItemResult ok(int index, Long id, String message) {
+        return new BatchItemResult(index, id, true, message);
+    }
+
+    public static BatchItemResult failed(int index, Long id, String message) {
+        return new BatchItemResult(index, id, false, message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.student.dto;
+
+import com.student.model.Student;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Filter and change for a set-based update; every filter field is optional, an empty filter matches everyone
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateRequest {
+
+    // Filter, as in /api/students/search plus a fee range and an intake window on the creation date
+    private String name;
+    private String course;
+    private Student.StudentStatus status;
+    private Double minFee;
+    private Double maxFee;
+    private LocalDate createdFrom;
+    // Inclusive
+    private LocalDate createdTo;
+
+    // Fee change in percent for /bulk/fee, e.g. 5 raises fees by 5%
+    private Double feePercent;
+
+    // Target status for /bulk/status
+    private Student.StudentStatus newStatus;
+}
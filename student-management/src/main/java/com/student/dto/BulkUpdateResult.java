@@ -0,0 +1,18 @@
+package com.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResult {
+
+    private boolean dryRun;
+    // Students matching the filter (dry run) or updated
+    private long rows;
+    // Transactions used, one per id range
+    private int chunks;
+    private long elapsedMs;
+}
@@ -0,0 +1,18 @@
+package com.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStats {
+
+    private String name;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long size;
+    private double hitRate;
+}
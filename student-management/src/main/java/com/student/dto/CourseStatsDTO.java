@@ -0,0 +1,40 @@
+package com.student.dto;
+
+import com.student.model.CourseStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseStatsDTO {
+
+    private String course;
+    private long studentCount;
+    private Double totalFee;
+    private Double averageFee;
+    private long activeCount;
+    private long inactiveCount;
+    private long graduatedCount;
+    private long suspendedCount;
+    private LocalDateTime updatedAt;
+
+    // Convert CourseStats entity to DTO
+    public static CourseStatsDTO fromEntity(CourseStats stats) {
+        CourseStatsDTO dto = new CourseStatsDTO();
+        dto.setCourse(stats.getCourse());
+        dto.setStudentCount(stats.getStudentCount());
+        dto.setTotalFee(stats.getTotalFee());
+        dto.setAverageFee(stats.getStudentCount() > 0 && stats.getTotalFee() != null
+                ? stats.getTotalFee() / stats.getStudentCount() : null);
+        dto.setActiveCount(stats.getActiveCount());
+        dto.setInactiveCount(stats.getInactiveCount());
+        dto.setGraduatedCount(stats.getGraduatedCount());
+        dto.setSuspendedCount(stats.getSuspendedCount());
+        dto.setUpdatedAt(stats.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,32 @@
+package com.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobStatus {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private String jobId;
+    private String fileName;
+    private State state;
+    private long rowsRead;
+    private long rowsStaged;
+    private long rowsRejected;
+    private long rowsInserted;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+    private List<RejectedRow> rejectedRows;
+    // True when more rows were rejected than the report keeps
+    private boolean rejectedRowsTruncated;
+}
@@ -0,0 +1,15 @@
+package com.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RejectedRow {
+
+    // 1-based record number in the uploaded file, the header is line 1
+    private long line;
+    private String reason;
+}
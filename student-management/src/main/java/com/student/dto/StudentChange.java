@@ -0,0 +1,32 @@
+package com.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.student.event.StudentChangedEvent;
+import com.student.model.StudentOutboxEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One entry of the change stream, always for a single student
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentChange {
+
+    private long position;
+    private StudentChangedEvent.Type type;
+    private Long studentId;
+    private LocalDateTime occurredAt;
+
+    // Stored JSON written out as is
+    @JsonRawValue
+    private String student;
+
+    // Convert a relayed outbox event to a change entry
+    public static StudentChange fromEntity(StudentOutboxEvent event) {
+        return new StudentChange(event.getPosition(), event.getType(), event.getStudentId(),
+                event.getOccurredAt(), event.getPayload());
+    }
+}
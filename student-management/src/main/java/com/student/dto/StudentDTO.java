@@ -28,15 +28,20 @@ public class StudentDTO {
     private Double fee;
     
     @Email(message = "Email should be valid")
+    @Size(max = 100, message = "Email must be at most 100 characters")
     private String email;
     
     @Pattern(regexp = "^\\+?[1-9]\\d{1,14}$", message = "Phone number should be valid")
+    @Size(max = 15, message = "Phone number must be at most 15 characters")
     private String phone;
     
+    @Size(max = 200, message = "Address must be at most 200 characters")
     private String address;
     
     private Student.StudentStatus status;
     
+    private Long version;
+    
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -53,6 +58,7 @@ public class StudentDTO {
         dto.setStatus(student.getStatus());
         dto.setCreatedAt(student.getCreatedAt());
         dto.setUpdatedAt(student.getUpdatedAt());
+        dto.setVersion(student.getVersion());
         return dto;
     }
     
@@ -69,4 +75,15 @@ public class StudentDTO {
         student.setStatus(this.status != null ? this.status : Student.StudentStatus.ACTIVE);
         return student;
     }
+    
+    // Copy the non-null fields of this DTO onto an existing entity
+    public void applyTo(Student student) {
+        if (this.name != null) student.setName(this.name);
+        if (this.course != null) student.setCourse(this.course);
+        if (this.fee != null) student.setFee(this.fee);
+        if (this.email != null) student.setEmail(this.email);
+        if (this.phone != null) student.setPhone(this.phone);
+        if (this.address != null) student.setAddress(this.address);
+        if (this.status != null) student.setStatus(this.status);
+    }
 }
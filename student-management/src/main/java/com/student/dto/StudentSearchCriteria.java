@@ -0,0 +1,45 @@
+package com.student.dto;
+
+import com.student.model.Student;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Filters of the search endpoints, bound from query parameters. Every filter is optional, course and
+// status take several values (?status=ACTIVE&status=SUSPENDED), date ranges include both end days.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSearchCriteria {
+
+    private String name;
+    private List<String> course;
+    private List<Student.StudentStatus> status;
+    private Double minFee;
+    private Double maxFee;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate updatedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate updatedTo;
+
+    // The original name / course / status filter
+    public static StudentSearchCriteria of(String name, String course, Student.StudentStatus status) {
+        StudentSearchCriteria criteria = new StudentSearchCriteria();
+        criteria.setName(name);
+        criteria.setCourse(course != null ? List.of(course) : null);
+        criteria.setStatus(status != null ? List.of(status) : null);
+        return criteria;
+    }
+}
@@ -0,0 +1,18 @@
+package com.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSuggestion {
+
+    private Long id;
+    private String name;
+    private String email;
+    private String course;
+    // Higher is better: exact word > word prefix > fuzzy match, summed over query terms
+    private int score;
+}
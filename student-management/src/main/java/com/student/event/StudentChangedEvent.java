@@ -0,0 +1,41 @@
+package com.student.event;
+
+import com.student.dto.StudentDTO;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by the service layer for every student mutation, listeners usually react after commit
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class StudentChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED,
+        // Set-based change with no per-row detail (bulk update, CSV import); in-process listeners resync
+        // from the database, the outbox gets per-student rows from the change itself
+        BULK
+    }
+
+    private final Type type;
+    // State before the change, null for CREATED and BULK
+    private final StudentDTO before;
+    // State after the change, null for DELETED and BULK
+    private final StudentDTO after;
+
+    public static StudentChangedEvent created(StudentDTO after) {
+        return new StudentChangedEvent(Type.CREATED, null, after);
+    }
+
+    public static StudentChangedEvent updated(StudentDTO before, StudentDTO after) {
+        return new StudentChangedEvent(Type.UPDATED, before, after);
+    }
+
+    public static StudentChangedEvent deleted(StudentDTO before) {
+        return new StudentChangedEvent(Type.DELETED, before, null);
+    }
+
+    public static StudentChangedEvent bulk() {
+        return new StudentChangedEvent(Type.BULK, null, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.student.exception;
+
+// Thrown when a student's email or phone number is already taken (mapped to 409 Conflict)
+public class DuplicateStudentException extends RuntimeException {
+
+    public DuplicateStudentException(String message) {
+        super(message);
+    }
+}
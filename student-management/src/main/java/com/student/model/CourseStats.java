@@ -0,0 +1,38 @@
+package com.student.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// One row per course, maintained by the course_stats triggers in database-setup.sql; never written here
+@Entity
+@Immutable
+@Table(name = "course_stats")
+@Getter
+@NoArgsConstructor
+public class CourseStats {
+
+    @Id
+    @Column(length = 100)
+    private String course;
+
+    private long studentCount;
+
+    private Double totalFee;
+
+    private long activeCount;
+
+    private long inactiveCount;
+
+    private long graduatedCount;
+
+    private long suspendedCount;
+
+    private LocalDateTime updatedAt;
+}
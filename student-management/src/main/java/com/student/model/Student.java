@@ -5,20 +5,32 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "students")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "students")
+// Updates write only the changed columns
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Student {
 
+    // Ids handed out per nextval of students_id_seq: the value is the top of the block (Hibernate's pooled optimizer)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids (pooled by 50) let Hibernate batch inserts, IDENTITY would disable batching
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -37,13 +49,16 @@ public class Student {
     private Double fee;
 
     @Email(message = "Email should be valid")
+    @Size(max = 100, message = "Email must be at most 100 characters")
     @Column(unique = true, length = 100)
     private String email;
 
     @Pattern(regexp = "^\\+?[1-9]\\d{1,14}$", message = "Phone number should be valid")
-    @Column(length = 15)
+    @Size(max = 15, message = "Phone number must be at most 15 characters")
+    @Column(unique = true, length = 15)
     private String phone;
 
+    @Size(max = 200, message = "Address must be at most 200 characters")
     @Column(length = 200)
     private String address;
 
@@ -51,6 +66,11 @@ public class Student {
     @Column(length = 20)
     private StudentStatus status = StudentStatus.ACTIVE;
 
+    // Optimistic lock, concurrent writers fail instead of silently overwriting each other
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,27 @@
+package com.student.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Last position handed out by the outbox relay; its row lock keeps one relay running at a time
+@Entity
+@Table(name = "student_outbox_cursor")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentOutboxCursor {
+
+    public static final String RELAY = "relay";
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false)
+    private long position;
+}
@@ -0,0 +1,46 @@
+package com.student.model;
+
+import com.student.event.StudentChangedEvent;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDateTime;
+
+// A committed student change waiting for (or already handed to) the change relay
+@Entity
+@Table(name = "student_outbox", indexes = @Index(name = "idx_student_outbox_position", columnList = "position"))
+// The relay only sets position and publishedAt, leave the payload out of its UPDATEs
+@DynamicUpdate
+@Data
+@NoArgsConstructor
+public class StudentOutboxEvent {
+
+    @Id
+    // Not pooled: StudentOutboxWriter takes each id with nextval after the student rows are locked, so
+    // the ids of one student's events follow the order their transactions committed in, on every instance
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_outbox_seq")
+    @SequenceGenerator(name = "student_outbox_seq", sequenceName = "student_outbox_id_seq", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StudentChangedEvent.Type type;
+
+    private Long studentId;
+
+    // StudentDTO as JSON: the state after the change, or before it for deletes
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Delivery order assigned by the relay, null until relayed. Ids follow insert order, which
+    // differs from commit order, so consumers resume from this instead.
+    @Column(unique = true)
+    private Long position;
+
+    private LocalDateTime publishedAt;
+}
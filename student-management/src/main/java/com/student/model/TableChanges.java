@@ -0,0 +1,24 @@
+package com.student.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+// One row per table, counted up by the table_changes triggers in database-setup.sql; never written here
+@Entity
+@Immutable
+@Table(name = "table_changes")
+@Getter
+@NoArgsConstructor
+public class TableChanges {
+
+    @Id
+    @Column(length = 50)
+    private String tableName;
+
+    private long changeCount;
+}
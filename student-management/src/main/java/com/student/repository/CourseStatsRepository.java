@@ -0,0 +1,9 @@
+package com.student.repository;
+
+import com.student.model.CourseStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CourseStatsRepository extends JpaRepository<CourseStats, String> {
+}
@@ -0,0 +1,35 @@
+package com.student.repository;
+
+import com.student.model.StudentOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StudentOutboxRepository extends JpaRepository<StudentOutboxEvent, Long> {
+
+    // Oldest events not yet relayed; ids are unpooled, so one student's events come in commit order
+    @Query("SELECT e FROM StudentOutboxEvent e WHERE e.position IS NULL ORDER BY e.id")
+    List<StudentOutboxEvent> findUnpublished(Pageable pageable);
+
+    // Relayed events after the given position, for consumers catching up
+    @Query("SELECT e FROM StudentOutboxEvent e WHERE e.position > :position ORDER BY e.position")
+    List<StudentOutboxEvent> findPublishedAfter(@Param("position") long position, Pageable pageable);
+
+    @Query("SELECT MIN(e.position) FROM StudentOutboxEvent e")
+    Long findOldestPosition();
+
+    // Last position handed out by the relay, null before the first relay
+    @Query("SELECT c.position FROM StudentOutboxCursor c WHERE c.name = com.student.model.StudentOutboxCursor.RELAY")
+    Long findRelayedPosition();
+
+    @Modifying
+    @Query("DELETE FROM StudentOutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,26 +1,61 @@
 package com.student.repository;
 
 import com.student.model.Student;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student>,
+        StudentRepositoryCustom {
+
+    // Name / course / status filter of the bulk updates, every parameter optional. One statement serves every
+    // combination, which suits set-based updates; searches use StudentSpecifications instead. :name must
+    // come through StudentSpecifications.escapeLike, so wildcards typed into it match literally.
+    String CRITERIA = "(:name IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', CAST(:name AS String), '%')) ESCAPE '\\') AND " +
+                      "(:course IS NULL OR s.course = :course) AND " +
+                      "(:status IS NULL OR s.status = :status)";
+
+    // CRITERIA plus a fee range (either end optional) and a creation (intake) window. The casts type
+    // unset parameters: Postgres cannot infer :name inside CONCAT, and the driver sends timestamps untyped.
+    String BULK_FILTER = CRITERIA + " AND " +
+                         "(:minFee IS NULL OR s.fee >= :minFee) AND (:maxFee IS NULL OR s.fee <= :maxFee) AND " +
+                         "(CAST(:createdFrom AS LocalDateTime) IS NULL OR s.createdAt >= :createdFrom) AND " +
+                         "(CAST(:createdTo AS LocalDateTime) IS NULL OR s.createdAt < :createdTo)";
     
     // Find by name containing (case-insensitive)
     List<Student> findByNameContainingIgnoreCase(String name);
     
-    // Find by course
+    // Relevance-ranked name search backed by the pg_trgm GIN index (prefix matches first, then similarity)
+    @Query(value = "SELECT * FROM students s WHERE s.name ILIKE CONCAT('%', :pattern, '%') " +
+                   "ORDER BY (s.name ILIKE CONCAT(:pattern, '%')) DESC, similarity(s.name, :name) DESC, s.id",
+           countQuery = "SELECT COUNT(*) FROM students s WHERE s.name ILIKE CONCAT('%', :pattern, '%')",
+           nativeQuery = true)
+    Page<Student> searchByNameRanked(@Param("pattern") String pattern, @Param("name") String name, Pageable pageable);
+    
+    // Find by course. The whole list is cached as a result set (studentsByCourse), so its rows are not
+    // also put into the second-level cache one by one while the query holds its connection.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
     List<Student> findByCourse(String course);
     
-    // Find by status
+    // Find by status, cached as a result set (studentsByStatus) like the course lists
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
     List<Student> findByStatus(Student.StudentStatus status);
     
     // Find by email
@@ -29,23 +64,83 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     // Find by phone
     Optional<Student> findByPhone(String phone);
     
+    // Find which of the given emails are already taken, as (email, id) pairs
+    @Query("SELECT s.email, s.id FROM Student s WHERE s.email IN :emails")
+    List<Object[]> findEmailOwners(@Param("emails") Collection<String> emails);
+    
+    // Find which of the given phones are already taken, as (phone, id) pairs
+    @Query("SELECT s.phone, s.id FROM Student s WHERE s.phone IN :phones")
+    List<Object[]> findPhoneOwners(@Param("phones") Collection<String> phones);
+    
     // Find students with fee greater than specified amount
     List<Student> findByFeeGreaterThan(Double fee);
     
     // Find students with fee between min and max
     List<Student> findByFeeBetween(Double minFee, Double maxFee);
     
-    // Custom query to find students by multiple criteria
-    @Query("SELECT s FROM Student s WHERE " +
-           "(:name IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
-           "(:course IS NULL OR s.course = :course) AND " +
-           "(:status IS NULL OR s.status = :status)")
-    Page<Student> findByCriteria(
+    // Lowest id, highest id and count of the students a bulk update would touch (one row), rows
+    // already in skipStatus are left out
+    @Query("SELECT MIN(s.id), MAX(s.id), COUNT(s) FROM Student s WHERE " + BULK_FILTER +
+           " AND (:skipStatus IS NULL OR s.status IS NULL OR s.status <> :skipStatus)")
+    List<Object[]> findBulkRange(
+            @Param("name") String name,
+            @Param("course") String course,
+            @Param("status") Student.StudentStatus status,
+            @Param("minFee") Double minFee,
+            @Param("maxFee") Double maxFee,
+            @Param("createdFrom") LocalDateTime createdFrom,
+            @Param("createdTo") LocalDateTime createdTo,
+            @Param("skipStatus") Student.StudentStatus skipStatus
+    );
+
+    // Ids of the matching students in [fromId, toId], locked so a bulk update changes exactly these
+    // rows and can record them in the outbox. Rows already in skipStatus are left out.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id FROM Student s WHERE s.id BETWEEN :fromId AND :toId AND " + BULK_FILTER +
+           " AND (:skipStatus IS NULL OR s.status IS NULL OR s.status <> :skipStatus)")
+    List<Long> lockBulkIdsInRange(
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId,
             @Param("name") String name,
             @Param("course") String course,
             @Param("status") Student.StudentStatus status,
-            Pageable pageable
+            @Param("minFee") Double minFee,
+            @Param("maxFee") Double maxFee,
+            @Param("createdFrom") LocalDateTime createdFrom,
+            @Param("createdTo") LocalDateTime createdTo,
+            @Param("skipStatus") Student.StudentStatus skipStatus
     );
+
+    // Multiply the fee of the given students in one statement.
+    // Bumps the version like an entity update would, Hibernate evicts the students cache region.
+    @Modifying
+    @Query("UPDATE Student s SET s.fee = ROUND(s.fee * :factor, 2), s.version = s.version + 1, " +
+           "s.updatedAt = LOCAL DATETIME WHERE s.id IN :ids")
+    int adjustFees(@Param("factor") double factor, @Param("ids") Collection<Long> ids);
+
+    // Move the given students to newStatus in one statement
+    @Modifying
+    @Query("UPDATE Student s SET s.status = :newStatus, s.version = s.version + 1, s.updatedAt = LOCAL DATETIME " +
+           "WHERE s.id IN :ids")
+    int transitionStatus(@Param("newStatus") Student.StudentStatus newStatus, @Param("ids") Collection<Long> ids);
+    
+    // Stream all students through a forward-only cursor (must be consumed inside a transaction)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Student s ORDER BY s.id")
+    Stream<Student> streamAll();
+    
+    // Stream (id, name, email, course) rows for the in-memory search index
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s.id, s.name, s.email, s.course FROM Student s")
+    Stream<Object[]> streamSearchFields();
+
+    // Stream (email, phone) rows for the in-memory uniqueness guard
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s.email, s.phone FROM Student s WHERE s.email IS NOT NULL OR s.phone IS NOT NULL")
+    Stream<Object[]> streamEmailsAndPhones();
     
     // Count students by status
     long countByStatus(Student.StudentStatus status);
@@ -57,4 +152,8 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     // Get average fee
     @Query("SELECT AVG(s.fee) FROM Student s")
     Double getAverageFee();
+    
+    // Count and fee total per (status, course), used to seed and reconcile the statistics aggregate
+    @Query("SELECT s.status, s.course, COUNT(s), SUM(s.fee) FROM Student s GROUP BY s.status, s.course")
+    List<Object[]> aggregateByStatusAndCourse();
 }
@@ -0,0 +1,20 @@
+package com.student.repository;
+
+import com.student.model.Student;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+public interface StudentRepositoryCustom {
+
+    // Keyset (seek) query: matching rows strictly after (lastValue, lastId) in (sortBy, id) order,
+    // rows with a null sort key last ascending and first descending
+    List<Student> findSliceAfter(Specification<Student> spec, String sortBy, boolean ascending,
+                                 Object lastValue, Long lastId, int limit);
+
+    // Matching rows with only the given attributes, one field -> value map per row in field order
+    Page<Map<String, Object>> findFields(Specification<Student> spec, List<String> fields, Pageable pageable);
+}
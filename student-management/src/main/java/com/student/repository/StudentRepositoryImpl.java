@@ -0,0 +1,151 @@
+package com.student.repository;
+
+import com.student.model.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.metamodel.mapping.SelectableMapping;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class StudentRepositoryImpl implements StudentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Student> findSliceAfter(Specification<Student> spec, String sortBy, boolean ascending,
+                                        Object lastValue, Long lastId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = cb.createQuery(Student.class);
+        Root<Student> root = query.from(Student.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+
+        Expression<Long> id = root.get("id");
+        if (lastId != null) {
+            if ("id".equals(sortBy)) {
+                predicates.add(after(cb, id, lastId, ascending));
+            } else if (lastValue == null) {
+                // Null keys sort after every value ascending and before them descending
+                Expression<?> key = root.get(sortBy);
+                predicates.add(ascending
+                        ? cb.and(cb.isNull(key), cb.greaterThan(id, lastId))
+                        : cb.or(cb.isNotNull(key), cb.and(cb.isNull(key), cb.lessThan(id, lastId))));
+            } else {
+                // key >= v is the index seek condition, the OR only breaks ties on id
+                Expression<Comparable<Object>> key = root.get(sortBy);
+                Predicate seek = cb.and(
+                        ascending
+                                ? cb.greaterThanOrEqualTo(key, comparable(lastValue))
+                                : cb.lessThanOrEqualTo(key, comparable(lastValue)),
+                        cb.or(
+                                after(cb, key, comparable(lastValue), ascending),
+                                after(cb, id, lastId, ascending)));
+                // Ascending, the null keys of a nullable column still follow the last value. Only then:
+                // the OR makes the planner combine two scans instead of seeking the (key, id) index.
+                predicates.add(ascending && nullable(sortBy) ? cb.or(seek, cb.isNull(key)) : seek);
+            }
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        if ("id".equals(sortBy)) {
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            // Nulls as the highest value, as in a Postgres btree index, so either direction can scan it
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+            query.orderBy(ascending ? hcb.asc(root.get(sortBy), false) : hcb.desc(root.get(sortBy), true),
+                    ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Whether the attribute's column allows nulls, from its mapping (@Column(nullable = false) says no)
+    private boolean nullable(String attribute) {
+        return ((SelectableMapping) entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(Student.class).findAttributeMapping(attribute)).isNullable();
+    }
+
+    @Override
+    public Page<Map<String, Object>> findFields(Specification<Student> spec, List<String> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Student> root = query.from(Student.class);
+
+        List<Selection<?>> columns = new ArrayList<>();
+        for (String field : fields) {
+            columns.add(root.get(field).alias(field));
+        }
+        query.multiselect(columns).orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        where(query, spec.toPredicate(root, query, cb));
+
+        // Columns rather than entities: nothing enters the persistence context or keeps a snapshot
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        // The count only runs when the page is full, as for the derived Page queries
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Student> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Student> root = query.from(Student.class);
+        query.select(cb.count(root));
+        where(query, spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // An unrestricted specification has no predicate
+    private static void where(CriteriaQuery<?> query, Predicate filter) {
+        if (filter != null) {
+            query.where(filter);
+        }
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate after(CriteriaBuilder cb, Expression<? extends Y> path,
+                                                                     Y value, boolean ascending) {
+        return ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> comparable(Object value) {
+        return (Comparable<Object>) value;
+    }
+}
@@ -0,0 +1,94 @@
+package com.student.repository;
+
+import com.student.dto.StudentSearchCriteria;
+import com.student.model.Student;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Search predicates for JpaSpecificationExecutor. Unlike the (:x IS NULL OR ...) form of
+// StudentRepository.CRITERIA, only the filters that are set reach the SQL, so every combination is its
+// own statement with its own plan and can use the index that matches it (see database-setup.sql).
+public final class StudentSpecifications {
+
+    private StudentSpecifications() {
+    }
+
+    public static Specification<Student> matching(StudentSearchCriteria criteria) {
+        List<Specification<Student>> filters = new ArrayList<>();
+        if (criteria.getName() != null && !criteria.getName().isBlank()) {
+            filters.add(nameContains(criteria.getName()));
+        }
+        if (criteria.getCourse() != null && !criteria.getCourse().isEmpty()) {
+            filters.add(courseIn(criteria.getCourse()));
+        }
+        if (criteria.getStatus() != null && !criteria.getStatus().isEmpty()) {
+            filters.add(statusIn(criteria.getStatus()));
+        }
+        if (criteria.getMinFee() != null) {
+            filters.add(feeAtLeast(criteria.getMinFee()));
+        }
+        if (criteria.getMaxFee() != null) {
+            filters.add(feeAtMost(criteria.getMaxFee()));
+        }
+        if (criteria.getCreatedFrom() != null || criteria.getCreatedTo() != null) {
+            filters.add(onDays("createdAt", criteria.getCreatedFrom(), criteria.getCreatedTo()));
+        }
+        if (criteria.getUpdatedFrom() != null || criteria.getUpdatedTo() != null) {
+            filters.add(onDays("updatedAt", criteria.getUpdatedFrom(), criteria.getUpdatedTo()));
+        }
+        return filters.isEmpty() ? Specification.unrestricted() : Specification.allOf(filters);
+    }
+
+    // Case-insensitive substring match, as findByCriteria. ILIKE on the column itself, so Postgres can
+    // use the trigram index on name; lower(name) LIKE cannot.
+    public static Specification<Student> nameContains(String name) {
+        return (root, query, cb) -> ((HibernateCriteriaBuilder) cb)
+                .ilike(root.get("name"), "%" + escapeLike(name) + "%", '\\');
+    }
+
+    // Treat LIKE wildcards in user input as literals, with backslash as the escape character
+    public static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    public static Specification<Student> courseIn(Collection<String> courses) {
+        // A single value stays an equality so it reads like the common case in plans and logs
+        return (root, query, cb) -> courses.size() == 1
+                ? cb.equal(root.get("course"), courses.iterator().next())
+                : root.get("course").in(courses);
+    }
+
+    public static Specification<Student> statusIn(Collection<Student.StudentStatus> statuses) {
+        return (root, query, cb) -> statuses.size() == 1
+                ? cb.equal(root.get("status"), statuses.iterator().next())
+                : root.get("status").in(statuses);
+    }
+
+    public static Specification<Student> feeAtLeast(double minFee) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("fee"), minFee);
+    }
+
+    public static Specification<Student> feeAtMost(double maxFee) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("fee"), maxFee);
+    }
+
+    // Timestamp attribute within the given days (both included), either end optional
+    public static Specification<Student> onDays(String attribute, LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            LocalDateTime start = from != null ? from.atStartOfDay() : null;
+            LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : null;
+            if (start != null && end != null) {
+                return cb.and(cb.greaterThanOrEqualTo(root.get(attribute), start), cb.lessThan(root.get(attribute), end));
+            }
+            return start != null
+                    ? cb.greaterThanOrEqualTo(root.get(attribute), start)
+                    : cb.lessThan(root.get(attribute), end);
+        };
+    }
+}
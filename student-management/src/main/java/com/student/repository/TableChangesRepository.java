@@ -0,0 +1,9 @@
+package com.student.repository;
+
+import com.student.model.TableChanges;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TableChangesRepository extends JpaRepository<TableChanges, String> {
+}
@@ -0,0 +1,54 @@
+package com.student.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.student.dto.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheStatisticsService {
+
+    // Hibernate second-level cache region of the Student entity
+    private static final String STUDENT_REGION = "students";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Hit, miss and eviction counts for the Spring result-set caches and the entity cache
+    public List<CacheStats> getCacheStatistics() {
+        List<CacheStats> stats = new ArrayList<>();
+
+        for (String name : cacheManager.getCacheNames()) {
+            // No counts to report when caching is switched off (spring.cache.type=none)
+            if (!(cacheManager.getCache(name) instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+            Cache<Object, Object> cache = caffeineCache.getNativeCache();
+            com.github.benmanes.caffeine.cache.stats.CacheStats caffeine = cache.stats();
+            stats.add(new CacheStats(name, caffeine.hitCount(), caffeine.missCount(), caffeine.evictionCount(),
+                    cache.estimatedSize(), caffeine.hitRate()));
+        }
+
+        CacheRegionStatistics region = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics()
+                .getDomainDataRegionStatistics(STUDENT_REGION);
+        if (region != null) {
+            long requests = region.getHitCount() + region.getMissCount();
+            // Hibernate does not count evictions, report -1 rather than a misleading zero
+            stats.add(new CacheStats("hibernate:" + STUDENT_REGION, region.getHitCount(), region.getMissCount(), -1,
+                    region.getElementCountInMemory(), requests == 0 ? 1.0 : (double) region.getHitCount() / requests));
+        }
+        return stats;
+    }
+}
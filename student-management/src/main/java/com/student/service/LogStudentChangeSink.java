@@ -0,0 +1,38 @@
+package com.student.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.dto.StudentChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Writes every change as one JSON line to the "student.changes" logger, route it to its own file
+// with logging.* settings to get a local change log
+@Component
+@ConditionalOnProperty(name = "student.outbox.log-sink.enabled", havingValue = "true", matchIfMissing = true)
+public class LogStudentChangeSink implements StudentChangeSink {
+
+    private static final Logger changes = LoggerFactory.getLogger("student.changes");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void publish(List<StudentChange> batch) {
+        if (!changes.isInfoEnabled()) {
+            return;
+        }
+        for (StudentChange change : batch) {
+            try {
+                changes.info(objectMapper.writeValueAsString(change));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize change " + change.getPosition(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.student.service;
+
+import com.student.dto.StudentDTO;
+import com.student.model.Student;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Non-blocking reads over the same students table as StudentService, through R2DBC.
+// Rows are emitted as they are decoded, so demand from the subscriber flows back to the driver.
+@Service
+public class ReactiveStudentService {
+
+    private static final String SELECT = "SELECT id, name, course, fee, email, phone, address, status, version, created_at, updated_at FROM students";
+
+    // API sort keys -> columns, anything else is rejected rather than spliced into SQL
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "course", "course",
+            "fee", "fee",
+            "email", "email",
+            "status", "status",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at");
+
+    @Autowired
+    private DatabaseClient db;
+
+    // Get one page of students, ordered by the given key (id breaks ties)
+    public Flux<StudentDTO> getStudents(int page, int size, String sortBy, String sortDir) {
+        String column = SORT_COLUMNS.get(sortBy);
+        if (column == null) {
+            return Flux.error(new IllegalArgumentException("Unsupported sort key: " + sortBy));
+        }
+        String direction = sortDir.equalsIgnoreCase("asc") ? "ASC" : "DESC";
+        return db.sql(SELECT + " ORDER BY " + column + " " + direction + ", id " + direction + " LIMIT :limit OFFSET :offset")
+                .bind("limit", size)
+                .bind("offset", (long) page * size)
+                .map(ReactiveStudentService::toDTO)
+                .all();
+    }
+
+    // Get student by ID, empty when it does not exist
+    public Mono<StudentDTO> getStudent(Long id) {
+        return db.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveStudentService::toDTO)
+                .one();
+    }
+
+    // Get students by course
+    public Flux<StudentDTO> getByCourse(String course) {
+        return db.sql(SELECT + " WHERE course = :course ORDER BY id")
+                .bind("course", course)
+                .map(ReactiveStudentService::toDTO)
+                .all();
+    }
+
+    // Get students by status
+    public Flux<StudentDTO> getByStatus(Student.StudentStatus status) {
+        return db.sql(SELECT + " WHERE status = :status ORDER BY id")
+                .bind("status", status.name())
+                .map(ReactiveStudentService::toDTO)
+                .all();
+    }
+
+    // Search with multiple criteria, same semantics as StudentService.searchByCriteria
+    public Flux<StudentDTO> searchByCriteria(String name, String course, Student.StudentStatus status, int page, int size) {
+        StringBuilder sql = new StringBuilder(SELECT).append(" WHERE 1 = 1");
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (name != null) {
+            sql.append(" AND name ILIKE :name");
+            params.put("name", "%" + escapeLike(name) + "%");
+        }
+        if (course != null) {
+            sql.append(" AND course = :course");
+            params.put("course", course);
+        }
+        if (status != null) {
+            sql.append(" AND status = :status");
+            params.put("status", status.name());
+        }
+        sql.append(" ORDER BY id LIMIT :limit OFFSET :offset");
+        params.put("limit", size);
+        params.put("offset", (long) page * size);
+
+        DatabaseClient.GenericExecuteSpec spec = db.sql(sql.toString());
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec.map(ReactiveStudentService::toDTO).all();
+    }
+
+    // Treat LIKE wildcards in user input as literals
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static StudentDTO toDTO(Readable row) {
+        StudentDTO dto = new StudentDTO();
+        dto.setId(row.get("id", Long.class));
+        dto.setName(row.get("name", String.class));
+        dto.setCourse(row.get("course", String.class));
+        dto.setFee(row.get("fee", Double.class));
+        dto.setEmail(row.get("email", String.class));
+        dto.setPhone(row.get("phone", String.class));
+        dto.setAddress(row.get("address", String.class));
+        String status = row.get("status", String.class);
+        dto.setStatus(status != null ? Student.StudentStatus.valueOf(status) : null);
+        dto.setVersion(row.get("version", Long.class));
+        dto.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        dto.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return dto;
+    }
+}
@@ -0,0 +1,46 @@
+package com.student.service;
+
+import com.student.dto.CourseStatsDTO;
+import com.student.repository.CourseStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+
+// Reports read the trigger-maintained course_stats table, one row per course
+@Service
+@Transactional(readOnly = true)
+public class ReportService {
+
+    private static final Set<String> COURSE_SORT_FIELDS = Set.of(
+            "course", "studentCount", "totalFee", "activeCount", "inactiveCount", "graduatedCount", "suspendedCount");
+
+    @Autowired
+    private CourseStatsRepository courseStatsRepo;
+
+    // Get per-course counts, fee totals and status mix with paging
+    public Page<CourseStatsDTO> getCourseStats(int page, int size, String sortBy, String sortDir) {
+        if (!COURSE_SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Cannot sort by " + sortBy + ", use one of " + COURSE_SORT_FIELDS);
+        }
+        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name())
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+        // Course breaks ties so pages are stable
+        if (!sortBy.equals("course")) {
+            sort = sort.and(Sort.by("course"));
+        }
+        return courseStatsRepo.findAll(PageRequest.of(page, size, sort)).map(CourseStatsDTO::fromEntity);
+    }
+
+    // Get the summary of one course
+    public CourseStatsDTO getCourseStats(String course) {
+        return courseStatsRepo.findById(course)
+                .map(CourseStatsDTO::fromEntity)
+                .orElseThrow(() -> new RuntimeException("No students enrolled in course: " + course));
+    }
+}
@@ -0,0 +1,301 @@
+package com.student.service;
+
+import com.student.dto.BatchItemResult;
+import com.student.dto.BatchResult;
+import com.student.dto.StudentDTO;
+import com.student.event.StudentChangedEvent;
+import com.student.model.Student;
+import com.student.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class StudentBatchService {
+
+    // Postgres accepts at most 32767 bind parameters per statement
+    private static final int LOOKUP_CHUNK = 10000;
+
+    @Autowired
+    private StudentRepository repo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private StudentMetrics metrics;
+
+    @Autowired
+    private StudentUniquenessGuard uniquenessGuard;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int jdbcBatchSize;
+
+    @Value("${student.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    // Create many students in one transaction with JDBC batching
+    @Transactional
+    public BatchResult createStudents(List<StudentDTO> students) {
+        checkSize(students.size());
+        BatchItemResult[] results = new BatchItemResult[students.size()];
+
+        checkItems(students, results);
+        reserveValues(students, results);
+        Map<String, Long> emailOwners = findOwners(emailsOf(students, results), repo::findEmailOwners);
+        Map<String, Long> phoneOwners = findOwners(phonesOf(students, results), repo::findPhoneOwners);
+
+        int pending = 0;
+        for (int i = 0; i < students.size(); i++) {
+            if (results[i] != null) continue;
+            StudentDTO dto = students.get(i);
+
+            if (dto.getEmail() != null && emailOwners.containsKey(dto.getEmail())) {
+                results[i] = BatchItemResult.failed(i, null, "Email already exists: " + dto.getEmail());
+                metrics.rejected(StudentMetrics.SOURCE_BATCH, StudentMetrics.REASON_DUPLICATE_EMAIL);
+                continue;
+            }
+            if (dto.getPhone() != null && phoneOwners.containsKey(dto.getPhone())) {
+                results[i] = BatchItemResult.failed(i, null, "Phone number already exists: " + dto.getPhone());
+                metrics.rejected(StudentMetrics.SOURCE_BATCH, StudentMetrics.REASON_DUPLICATE_PHONE);
+                continue;
+            }
+
+            Student student = dto.toEntity();
+            student.setId(null);
+            entityManager.persist(student);
+            results[i] = BatchItemResult.ok(i, student.getId(), "Created");
+            events.publishEvent(StudentChangedEvent.created(StudentDTO.fromEntity(student)));
+
+            if (++pending % jdbcBatchSize == 0) {
+                flushAndClear();
+            }
+        }
+
+        flushAndClear();
+        return BatchResult.of(List.of(results));
+    }
+
+    // Update many students in one transaction, entities are loaded and flushed chunk by chunk
+    @Transactional
+    public BatchResult updateStudents(List<StudentDTO> students) {
+        checkSize(students.size());
+        BatchItemResult[] results = new BatchItemResult[students.size()];
+
+        for (int i = 0; i < students.size(); i++) {
+            if (students.get(i).getId() == null) {
+                results[i] = BatchItemResult.failed(i, null, "Id is required");
+            }
+        }
+        checkItems(students, results);
+        reserveValues(students, results);
+        Map<String, Long> emailOwners = findOwners(emailsOf(students, results), repo::findEmailOwners);
+        Map<String, Long> phoneOwners = findOwners(phonesOf(students, results), repo::findPhoneOwners);
+
+        for (int i = 0; i < students.size(); i++) {
+            if (results[i] != null) continue;
+            StudentDTO dto = students.get(i);
+
+            Long emailOwner = dto.getEmail() != null ? emailOwners.get(dto.getEmail()) : null;
+            if (emailOwner != null && !emailOwner.equals(dto.getId())) {
+                results[i] = BatchItemResult.failed(i, dto.getId(), "Email already exists: " + dto.getEmail());
+                metrics.rejected(StudentMetrics.SOURCE_BATCH, StudentMetrics.REASON_DUPLICATE_EMAIL);
+                continue;
+            }
+            Long phoneOwner = dto.getPhone() != null ? phoneOwners.get(dto.getPhone()) : null;
+            if (phoneOwner != null && !phoneOwner.equals(dto.getId())) {
+                results[i] = BatchItemResult.failed(i, dto.getId(), "Phone number already exists: " + dto.getPhone());
+                metrics.rejected(StudentMetrics.SOURCE_BATCH, StudentMetrics.REASON_DUPLICATE_PHONE);
+            }
+        }
+
+        List<Integer> remaining = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            if (results[i] == null) remaining.add(i);
+        }
+
+        List<StudentDTO> befores = new ArrayList<>();
+        List<Student> updatedEntities = new ArrayList<>();
+        for (int from = 0; from < remaining.size(); from += jdbcBatchSize) {
+            List<Integer> chunk = remaining.subList(from, Math.min(from + jdbcBatchSize, remaining.size()));
+            Map<Long, Student> loaded = repo.findAllById(chunk.stream().map(i -> students.get(i).getId()).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Student::getId, Function.identity()));
+
+            for (int i : chunk) {
+                StudentDTO dto = students.get(i);
+                Student existing = loaded.get(dto.getId());
+                if (existing == null) {
+                    results[i] = BatchItemResult.failed(i, dto.getId(), "Student not found with id: " + dto.getId());
+                    continue;
+                }
+                StudentDTO before = StudentDTO.fromEntity(existing);
+                dto.applyTo(existing);
+                results[i] = BatchItemResult.ok(i, dto.getId(), "Updated");
+                befores.add(before);
+                updatedEntities.add(existing);
+            }
+            entityManager.flush();
+            // Publish after flush so the after-state carries the new updated_at
+            for (int k = 0; k < befores.size(); k++) {
+                events.publishEvent(StudentChangedEvent.updated(befores.get(k), StudentDTO.fromEntity(updatedEntities.get(k))));
+            }
+            befores.clear();
+            updatedEntities.clear();
+            entityManager.clear();
+        }
+
+        return BatchResult.of(List.of(results));
+    }
+
+    // Delete many students with one DELETE ... WHERE id IN statement per chunk
+    @Transactional
+    public BatchResult deleteStudents(List<Long> ids) {
+        checkSize(ids.size());
+        Set<Long> existing = new HashSet<>();
+        for (List<Long> chunk : chunks(ids.stream().filter(Objects::nonNull).distinct().toList())) {
+            List<Student> found = repo.findAllById(chunk);
+            if (found.isEmpty()) {
+                continue;
+            }
+            List<Long> foundIds = found.stream().map(Student::getId).toList();
+            existing.addAll(foundIds);
+            repo.deleteAllByIdInBatch(foundIds);
+            // One event per student, so the outbox records which students went and what they were
+            for (Student student : found) {
+                events.publishEvent(StudentChangedEvent.deleted(StudentDTO.fromEntity(student)));
+            }
+            entityManager.clear();
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        Set<Long> reported = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null || !existing.contains(id)) {
+                results.add(BatchItemResult.failed(i, id, "Student not found with id: " + id));
+            } else if (!reported.add(id)) {
+                results.add(BatchItemResult.failed(i, id, "Duplicate id in batch: " + id));
+            } else {
+                results.add(BatchItemResult.ok(i, id, "Deleted"));
+            }
+        }
+        return BatchResult.of(results);
+    }
+
+    private void checkSize(int size) {
+        if (size == 0) {
+            throw new IllegalArgumentException("Batch must not be empty");
+        }
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size " + size + " exceeds the maximum of " + maxBatchSize);
+        }
+    }
+
+    // Bean Validation plus duplicate email/phone detection inside the batch itself
+    private void checkItems(List<StudentDTO> students, BatchItemResult[] results) {
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+
+        for (int i = 0; i < students.size(); i++) {
+            if (results[i] != null) continue;
+            StudentDTO dto = students.get(i);
+
+            Set<ConstraintViolation<StudentDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                results[i] = BatchItemResult.failed(i, dto.getId(), "Validation failed: " + message);
+                metrics.rejected(StudentMetrics.SOURCE_BATCH, StudentMetrics.REASON_VALIDATION);
+            } else if (dto.getEmail() != null && !emails.add(dto.getEmail())) {
+                results[i] = BatchItemResult.failed(i, dto.getId(), "Duplicate email in batch: " + dto.getEmail());
+                metrics.rejected(StudentMetrics.SOURCE_BATCH, StudentMetrics.REASON_DUPLICATE_EMAIL);
+            } else if (dto.getPhone() != null && !phones.add(dto.getPhone())) {
+                results[i] = BatchItemResult.failed(i, dto.getId(), "Duplicate phone number in batch: " + dto.getPhone());
+                metrics.rejected(StudentMetrics.SOURCE_BATCH, StudentMetrics.REASON_DUPLICATE_PHONE);
+            }
+        }
+    }
+
+    // Claim each item's email and phone before the owner lookups, as a single write does: a transaction
+    // holding one makes the item fail here, and one that has committed shows up in the lookups
+    private void reserveValues(List<StudentDTO> students, BatchItemResult[] results) {
+        for (int i = 0; i < students.size(); i++) {
+            if (results[i] != null) continue;
+            StudentDTO dto = students.get(i);
+
+            String reason = uniquenessGuard.tryReserve(dto.getEmail(), dto.getPhone());
+            if (StudentMetrics.REASON_DUPLICATE_EMAIL.equals(reason)) {
+                results[i] = BatchItemResult.failed(i, dto.getId(), "Email already exists: " + dto.getEmail());
+                metrics.rejected(StudentMetrics.SOURCE_BATCH, reason);
+            } else if (StudentMetrics.REASON_DUPLICATE_PHONE.equals(reason)) {
+                results[i] = BatchItemResult.failed(i, dto.getId(), "Phone number already exists: " + dto.getPhone());
+                metrics.rejected(StudentMetrics.SOURCE_BATCH, reason);
+            }
+        }
+    }
+
+    private static List<String> emailsOf(List<StudentDTO> students, BatchItemResult[] results) {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            if (results[i] == null && students.get(i).getEmail() != null) emails.add(students.get(i).getEmail());
+        }
+        return emails;
+    }
+
+    private static List<String> phonesOf(List<StudentDTO> students, BatchItemResult[] results) {
+        List<String> phones = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            if (results[i] == null && students.get(i).getPhone() != null) phones.add(students.get(i).getPhone());
+        }
+        return phones;
+    }
+
+    // One set-based lookup per chunk, returns value -> owning student id
+    private Map<String, Long> findOwners(List<String> values, Function<Collection<String>, List<Object[]>> lookup) {
+        Map<String, Long> owners = new HashMap<>();
+        for (List<String> chunk : chunks(values)) {
+            for (Object[] row : lookup.apply(chunk)) {
+                owners.put((String) row[0], (Long) row[1]);
+            }
+        }
+        return owners;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += LOOKUP_CHUNK) {
+            chunks.add(values.subList(from, Math.min(from + LOOKUP_CHUNK, values.size())));
+        }
+        return chunks;
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
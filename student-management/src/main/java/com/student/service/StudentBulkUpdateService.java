@@ -0,0 +1,144 @@
+package com.student.service;
+
+import com.student.dto.BulkUpdateRequest;
+import com.student.dto.BulkUpdateResult;
+import com.student.event.StudentChangedEvent;
+import com.student.model.Student;
+import com.student.repository.StudentRepository;
+import com.student.repository.StudentSpecifications;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Set-based updates: per id range, lock the matching ids and change them with one UPDATE instead of a
+// load and save per student. Each range commits on its own, so a large update never holds row locks
+// on the whole table.
+@Slf4j
+@Service
+public class StudentBulkUpdateService {
+
+    @Autowired
+    private StudentRepository repo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    // Absent when student.outbox.enabled=false
+    @Autowired(required = false)
+    private StudentOutboxWriter outboxWriter;
+
+    // Width of the id range updated per transaction
+    @Value("${student.bulk.chunk-size:5000}")
+    private int chunkSize;
+
+    // Change every matching fee by a percentage, or only count the matches on a dry run
+    public BulkUpdateResult adjustFees(BulkUpdateRequest request, boolean dryRun) {
+        if (request.getFeePercent() == null || request.getFeePercent() <= -100) {
+            throw new IllegalArgumentException("feePercent is required and must be greater than -100");
+        }
+        double factor = 1 + request.getFeePercent() / 100;
+        Filter filter = new Filter(request);
+        return run(filter, null, dryRun, ids -> repo.adjustFees(factor, ids));
+    }
+
+    // Move every matching student to the new status, or only count them on a dry run
+    public BulkUpdateResult transitionStatus(BulkUpdateRequest request, boolean dryRun) {
+        if (request.getNewStatus() == null) {
+            throw new IllegalArgumentException("newStatus is required");
+        }
+        Student.StudentStatus newStatus = request.getNewStatus();
+        Filter filter = new Filter(request);
+        return run(filter, newStatus, dryRun, ids -> repo.transitionStatus(newStatus, ids));
+    }
+
+    private BulkUpdateResult run(Filter filter, Student.StudentStatus skipStatus, boolean dryRun, RangeUpdate update) {
+        long start = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // Not read-only, so a replica cannot hide recently added students from the range
+        Object[] range = transaction.execute(status -> repo.findBulkRange(filter.name, filter.course, filter.status,
+                filter.minFee, filter.maxFee, filter.createdFrom, filter.createdTo, skipStatus).get(0));
+        long matched = ((Number) range[2]).longValue();
+        if (dryRun || matched == 0) {
+            return new BulkUpdateResult(dryRun, matched, 0, elapsedMs(start));
+        }
+
+        long minId = ((Number) range[0]).longValue();
+        long maxId = ((Number) range[1]).longValue();
+        long updated = 0;
+        int chunks = 0;
+        try {
+            for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+                long from = fromId;
+                long to = Math.min(fromId + chunkSize - 1, maxId);
+                Integer rows = transaction.execute(status -> {
+                    List<Long> ids = repo.lockBulkIdsInRange(from, to, filter.name, filter.course, filter.status,
+                            filter.minFee, filter.maxFee, filter.createdFrom, filter.createdTo, skipStatus);
+                    if (ids.isEmpty()) {
+                        return 0;
+                    }
+                    int changed = update.apply(ids);
+                    // Per-student outbox rows commit with the range they describe
+                    if (outboxWriter != null) {
+                        outboxWriter.recordAll(StudentChangedEvent.Type.UPDATED, ids);
+                    }
+                    return changed;
+                });
+                updated += rows;
+                chunks++;
+            }
+        } finally {
+            // Committed ranges stay committed if a later one fails, listeners resync either way
+            if (updated > 0) {
+                events.publishEvent(StudentChangedEvent.bulk());
+            }
+        }
+        log.info("Bulk update changed {} students in {} chunks", updated, chunks);
+        return new BulkUpdateResult(false, updated, chunks, elapsedMs(start));
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    @FunctionalInterface
+    private interface RangeUpdate {
+        int apply(List<Long> ids);
+    }
+
+    // Request filter with blank strings treated as absent and the intake dates as a half-open timestamp range
+    private static final class Filter {
+        private final String name;
+        private final String course;
+        private final Student.StudentStatus status;
+        private final Double minFee;
+        private final Double maxFee;
+        private final LocalDateTime createdFrom;
+        private final LocalDateTime createdTo;
+
+        private Filter(BulkUpdateRequest request) {
+            String name = blankToNull(request.getName());
+            // Matched with LIKE, escaped as in the search specifications
+            this.name = name != null ? StudentSpecifications.escapeLike(name) : null;
+            this.course = blankToNull(request.getCourse());
+            this.status = request.getStatus();
+            this.minFee = request.getMinFee();
+            this.maxFee = request.getMaxFee();
+            this.createdFrom = request.getCreatedFrom() != null ? request.getCreatedFrom().atStartOfDay() : null;
+            this.createdTo = request.getCreatedTo() != null ? request.getCreatedTo().plusDays(1).atStartOfDay() : null;
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value;
+        }
+    }
+}
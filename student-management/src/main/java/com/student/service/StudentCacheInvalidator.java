@@ -0,0 +1,223 @@
+package com.student.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.student.dto.StudentDTO;
+import com.student.event.StudentChangedEvent;
+import com.student.model.Student;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+// Evicts exactly the cached result sets a committed change can affect.
+// Cache keys carry a generation per course, status or name term, moved on after every commit that
+// affects it: a read that loaded its result before the commit but stores it after the eviction
+// stores it under a key nobody reads any more.
+@Component
+public class StudentCacheInvalidator {
+
+    public static final String BY_COURSE = "studentsByCourse";
+    public static final String BY_STATUS = "studentsByStatus";
+    public static final String BY_NAME = "studentsByName";
+
+    // Terms whose generation is remembered per cache; a forgotten one restarts at a number never used before
+    private static final int MAX_GENERATIONS = 10000;
+
+    // Past this many changed names, testing every cached term against each costs more than
+    // starting the name cache over
+    private static final int MAX_NAMES_MATCHED = 100;
+
+    // Transaction resource collecting the changes of the current transaction
+    private final Object changesKey = new Object();
+
+    private final AtomicLong lastGeneration = new AtomicLong();
+    private final Map<String, Cache<Object, Long>> generations = Map.of(
+            BY_COURSE, Caffeine.newBuilder().maximumSize(MAX_GENERATIONS).build(),
+            BY_STATUS, Caffeine.newBuilder().maximumSize(MAX_GENERATIONS).build(),
+            BY_NAME, Caffeine.newBuilder().maximumSize(MAX_GENERATIONS).build());
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${student.datasource.replicas.enabled:false}")
+    private boolean replicasEnabled;
+
+    @Value("${student.datasource.replicas.read-your-writes-ms:2000}")
+    private long replicaLagMs;
+
+    // Cache keys for the @Cacheable reads: the term first, its current generation last
+    public List<Object> courseKey(String course) {
+        return List.of(course, generation(BY_COURSE, course));
+    }
+
+    public List<Object> statusKey(Student.StudentStatus status) {
+        return List.of(status, generation(BY_STATUS, status));
+    }
+
+    public List<Object> nameKey(String name, int page, int size) {
+        String term = name.toLowerCase();
+        return List.of(term, page, size, generation(BY_NAME, term));
+    }
+
+    // Collects the transaction's changes and invalidates once after it commits: a batch of 10,000
+    // students scans each cache once rather than 10,000 times. Outside a transaction the change is
+    // already visible and is invalidated right away.
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            Changes changes = new Changes();
+            changes.add(event);
+            committed(changes);
+            return;
+        }
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(changesKey);
+        if (changes == null) {
+            Changes pending = new Changes();
+            changes = pending;
+            TransactionSynchronizationManager.bindResource(changesKey, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(changesKey);
+                    committed(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(changesKey);
+                }
+            });
+        }
+        changes.add(event);
+    }
+
+    private void committed(Changes changes) {
+        invalidate(changes);
+        // A result set or entity reloaded right after the commit may have come from a replica that had
+        // not caught up yet, evict again once the lag window has passed
+        if (replicasEnabled) {
+            taskScheduler.schedule(() -> {
+                invalidate(changes);
+                evictEntities(changes);
+            }, Instant.now().plusMillis(replicaLagMs));
+        }
+    }
+
+    // The students second-level cache region: Hibernate already evicted or updated it at commit, but a
+    // read-only load in the lag window puts the replica's older row back, and later hits skip the primary
+    private void evictEntities(Changes changes) {
+        jakarta.persistence.Cache entities = entityManagerFactory.getCache();
+        if (changes.bulk) {
+            entities.evict(Student.class);
+            return;
+        }
+        for (Long id : changes.ids) {
+            entities.evict(Student.class, id);
+        }
+    }
+
+    private void invalidate(Changes changes) {
+        if (changes.bulk) {
+            generations.keySet().forEach(this::invalidateAll);
+            return;
+        }
+        if (!changes.courses.isEmpty()) {
+            invalidate(BY_COURSE, changes.courses::contains);
+        }
+        if (!changes.statuses.isEmpty()) {
+            invalidate(BY_STATUS, changes.statuses::contains);
+        }
+        if (changes.names.size() > MAX_NAMES_MATCHED) {
+            invalidateAll(BY_NAME);
+        } else if (!changes.names.isEmpty()) {
+            // Name searches are substring matches, invalidate every term a changed name contains
+            invalidate(BY_NAME, term -> changes.names.stream().anyMatch(name -> name.contains(String.valueOf(term))));
+        }
+    }
+
+    private void invalidateAll(String cacheName) {
+        generations.get(cacheName).asMap().replaceAll((term, generation) -> lastGeneration.incrementAndGet());
+        cache(cacheName).clear();
+    }
+
+    // Move the matching terms to a new generation, then drop their cached entries to free the space
+    private void invalidate(String cacheName, Predicate<Object> matches) {
+        generations.get(cacheName).asMap().replaceAll((term, generation) ->
+                matches.test(term) ? lastGeneration.incrementAndGet() : generation);
+        // Nothing to drop when caching is switched off (spring.cache.type=none)
+        if (cache(cacheName) instanceof CaffeineCache caffeine) {
+            caffeine.getNativeCache().asMap().keySet().removeIf(key -> matches.test(term(key)));
+        }
+    }
+
+    private long generation(String cacheName, Object term) {
+        return generations.get(cacheName).get(term, t -> lastGeneration.incrementAndGet());
+    }
+
+    // Keys are lists with the term first
+    private static Object term(Object key) {
+        return key instanceof List<?> parts && !parts.isEmpty() ? parts.get(0) : key;
+    }
+
+    private org.springframework.cache.Cache cache(String cacheName) {
+        return cacheManager.getCache(cacheName);
+    }
+
+    // The course, status and name values a transaction's changes touched, before and after, and their ids
+    private static final class Changes {
+        private boolean bulk;
+        private final Set<Object> courses = new HashSet<>();
+        private final Set<Object> statuses = new HashSet<>();
+        private final Set<String> names = new HashSet<>();
+        private final Set<Long> ids = new HashSet<>();
+
+        void add(StudentChangedEvent event) {
+            if (event.getType() == StudentChangedEvent.Type.BULK) {
+                bulk = true;
+                return;
+            }
+            add(event.getBefore());
+            add(event.getAfter());
+        }
+
+        private void add(StudentDTO student) {
+            if (student == null) {
+                return;
+            }
+            if (student.getCourse() != null) {
+                courses.add(student.getCourse());
+            }
+            if (student.getStatus() != null) {
+                statuses.add(student.getStatus());
+            }
+            if (student.getName() != null) {
+                names.add(student.getName().toLowerCase());
+            }
+            if (student.getId() != null) {
+                ids.add(student.getId());
+            }
+        }
+    }
+}
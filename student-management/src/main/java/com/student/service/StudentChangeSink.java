@@ -0,0 +1,12 @@
+package com.student.service;
+
+import com.student.dto.StudentChange;
+
+import java.util.List;
+
+// Destination of relayed student changes. Called inside the relay transaction, in position order;
+// throwing rolls the batch back and it is relayed again, so sinks must tolerate repeats.
+public interface StudentChangeSink {
+
+    void publish(List<StudentChange> changes);
+}
@@ -0,0 +1,188 @@
+package com.student.service;
+
+import com.student.dto.StudentChange;
+import com.student.repository.StudentOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Server-Sent Events sink. A subscriber first replays relayed changes after its position from
+// student_outbox, then receives live batches once the relay has committed them. Live batches that
+// arrive during the replay are queued behind it, so nothing is skipped or sent twice.
+@Slf4j
+@Component
+public class StudentChangeStream implements StudentChangeSink {
+
+    // Changes read per query while a subscriber catches up
+    private static final int REPLAY_PAGE = 500;
+
+    @Autowired
+    private StudentOutboxRepository outboxRepo;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${student.outbox.sse-timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${student.outbox.sse-max-queued:10000}")
+    private int maxQueued;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // Stream every change after the given position
+    public SseEmitter subscribe(long since) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMs), since);
+        subscribers.add(subscriber);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Replay off the request thread so a long backlog streams out instead of piling up before the response starts
+        taskExecutor.execute(() -> catchUp(subscriber));
+        return subscriber.emitter;
+    }
+
+    @Override
+    public void publish(List<StudentChange> changes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deliver(changes);
+            return;
+        }
+        // Only committed positions may reach subscribers, a rolled-back batch is relayed again
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deliver(changes);
+            }
+        });
+    }
+
+    // Only queues the batch: each subscriber is written to by its own task, so a slow client holds up
+    // nobody but itself. One that falls max-queued changes behind is dropped and resumes by position.
+    private void deliver(List<StudentChange> changes) {
+        for (Subscriber subscriber : subscribers) {
+            boolean start;
+            subscriber.lock.lock();
+            try {
+                if (subscriber.queued.size() + changes.size() > maxQueued) {
+                    subscriber.overflowed = true;
+                    subscriber.queued.clear();
+                } else {
+                    subscriber.queued.addAll(changes);
+                }
+                start = !subscriber.sending;
+                subscriber.sending = true;
+            } finally {
+                subscriber.lock.unlock();
+            }
+            if (start) {
+                taskExecutor.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    // Runs while the subscriber's sending flag is set, so at most one thread writes to its emitter
+    private void catchUp(Subscriber subscriber) {
+        try {
+            // Older changes may have been purged, tell the consumer to resync before continuing
+            Long oldest = outboxRepo.findOldestPosition();
+            Long relayed = outboxRepo.findRelayedPosition();
+            long firstAvailable = oldest != null ? oldest : (relayed != null ? relayed + 1 : 1);
+            if (subscriber.lastSent + 1 < firstAvailable) {
+                subscriber.emitter.send(SseEmitter.event().name("reset").data(firstAvailable - 1));
+                subscriber.lastSent = firstAvailable - 1;
+            }
+
+            List<StudentChange> page;
+            do {
+                page = outboxRepo.findPublishedAfter(subscriber.lastSent, PageRequest.of(0, REPLAY_PAGE)).stream()
+                        .map(StudentChange::fromEntity)
+                        .toList();
+                subscriber.send(page);
+            } while (page.size() == REPLAY_PAGE);
+        } catch (Exception e) {
+            drop(subscriber, e);
+            return;
+        }
+        // Live batches queued during the replay
+        drain(subscriber);
+    }
+
+    // Send queued batches until the queue is empty, then let the next delivery start a new drain
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                List<StudentChange> batch;
+                subscriber.lock.lock();
+                try {
+                    if (subscriber.overflowed) {
+                        throw new IllegalStateException("Subscriber fell more than " + maxQueued + " changes behind");
+                    }
+                    if (subscriber.queued.isEmpty()) {
+                        subscriber.sending = false;
+                        return;
+                    }
+                    batch = subscriber.queued;
+                    subscriber.queued = new ArrayList<>();
+                } finally {
+                    subscriber.lock.unlock();
+                }
+                subscriber.send(batch);
+            }
+        } catch (Exception e) {
+            drop(subscriber, e);
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        log.debug("Dropping change stream subscriber: {}", cause.getMessage());
+        subscribers.remove(subscriber);
+        subscriber.emitter.completeWithError(cause);
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        // Guards queued, overflowed and sending; never held while writing to the client
+        private final ReentrantLock lock = new ReentrantLock();
+        // Only touched by the thread that owns sending
+        private long lastSent;
+        // Live batches waiting for the subscriber's sending task
+        private List<StudentChange> queued = new ArrayList<>();
+        private boolean overflowed;
+        // Set while the replay or a drain owns the emitter, starts set for the replay
+        private boolean sending = true;
+
+        private Subscriber(SseEmitter emitter, long since) {
+            this.emitter = emitter;
+            this.lastSent = since;
+        }
+
+        // Positions at or below lastSent were already sent by the replay or an earlier batch
+        void send(List<StudentChange> changes) throws IOException {
+            for (StudentChange change : changes) {
+                if (change.getPosition() > lastSent) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(change.getPosition()))
+                            .data(change, MediaType.APPLICATION_JSON));
+                    lastSent = change.getPosition();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.student.service;
+
+import com.student.model.Student;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+
+// Opaque continuation token for keyset pagination, encodes the last (sortKey, id) tuple of a slice
+public final class StudentCursor {
+
+    public static final Set<String> SORT_KEYS = Set.of("id", "name", "course", "fee", "createdAt");
+
+    private static final String SEPARATOR = "|";
+    // The sort value is written after a marker, so a null key is not confused with the text "null"
+    private static final String NULL_VALUE = "n";
+    private static final String PRESENT_VALUE = "v";
+
+    private final String sortBy;
+    private final boolean ascending;
+    private final Object lastValue;
+    private final Long lastId;
+
+    private StudentCursor(String sortBy, boolean ascending, Object lastValue, Long lastId) {
+        this.sortBy = sortBy;
+        this.ascending = ascending;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    // Cursor positioned before the first row
+    public static StudentCursor first(String sortBy, boolean ascending) {
+        if (!SORT_KEYS.contains(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort field for cursor pagination: " + sortBy);
+        }
+        return new StudentCursor(sortBy, ascending, null, null);
+    }
+
+    // Cursor positioned after the given row
+    public StudentCursor after(Student last) {
+        return new StudentCursor(sortBy, ascending, sortValue(last), last.getId());
+    }
+
+    public String encode() {
+        String raw = sortBy + SEPARATOR + (ascending ? "a" : "d") + SEPARATOR + lastId + SEPARATOR
+                + (lastValue == null ? NULL_VALUE : PRESENT_VALUE + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static StudentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The sort value is last so it may itself contain the separator
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            String sortBy = parts[0];
+            if (parts.length != 4 || !SORT_KEYS.contains(sortBy)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new StudentCursor(sortBy, "a".equals(parts[1]), parseValue(sortBy, parts[3]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private Object sortValue(Student student) {
+        switch (sortBy) {
+            case "name": return student.getName();
+            case "course": return student.getCourse();
+            case "fee": return student.getFee();
+            case "createdAt": return student.getCreatedAt();
+            default: return student.getId();
+        }
+    }
+
+    private static Object parseValue(String sortBy, String marked) {
+        if (NULL_VALUE.equals(marked)) {
+            return null;
+        }
+        if (!marked.startsWith(PRESENT_VALUE)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String value = marked.substring(PRESENT_VALUE.length());
+        switch (sortBy) {
+            case "name":
+            case "course":
+                return value;
+            case "fee": return Double.valueOf(value);
+            case "createdAt": return LocalDateTime.parse(value);
+            default: return Long.valueOf(value);
+        }
+    }
+
+    public String getSortBy() { return sortBy; }
+    public boolean isAscending() { return ascending; }
+    public Object getLastValue() { return lastValue; }
+    public Long getLastId() { return lastId; }
+}
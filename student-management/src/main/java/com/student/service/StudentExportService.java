@@ -0,0 +1,137 @@
+package com.student.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.student.dto.StudentDTO;
+import com.student.model.Student;
+import com.student.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class StudentExportService {
+
+    // Rows written between explicit flushes of the response buffer
+    private static final int FLUSH_EVERY = 1000;
+
+    private static final String CSV_HEADER = "id,name,course,fee,email,phone,address,status,createdAt,updatedAt";
+
+    @Autowired
+    private StudentRepository repo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Supported export formats
+    public enum ExportFormat {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        ExportFormat(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() { return mediaType; }
+        public String getExtension() { return extension; }
+    }
+
+    // Write every student to the output as it is read from the cursor, returns the number of rows written
+    @Transactional(readOnly = true)
+    public long exportStudents(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writerFor(StudentDTO.class);
+        long count = 0;
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        // Rows loaded while iterating would otherwise all go into the second-level cache. A cache mode hint on
+        // the query only covers opening the cursor, the session's mode covers the iteration.
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+
+        try (Stream<Student> students = repo.streamAll()) {
+            Iterator<Student> iterator = students.iterator();
+            while (iterator.hasNext()) {
+                Student student = iterator.next();
+                StudentDTO dto = StudentDTO.fromEntity(student);
+                // Keep the persistence context empty so memory stays flat
+                entityManager.detach(student);
+
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, dto);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(dto));
+                    writer.write('\n');
+                }
+
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, StudentDTO dto) throws IOException {
+        writer.write(String.valueOf(dto.getId()));
+        writer.write(',');
+        writer.write(csv(dto.getName()));
+        writer.write(',');
+        writer.write(csv(dto.getCourse()));
+        writer.write(',');
+        writer.write(dto.getFee() != null ? dto.getFee().toString() : "");
+        writer.write(',');
+        writer.write(csv(dto.getEmail()));
+        writer.write(',');
+        writer.write(csv(dto.getPhone()));
+        writer.write(',');
+        writer.write(csv(dto.getAddress()));
+        writer.write(',');
+        writer.write(dto.getStatus() != null ? dto.getStatus().name() : "");
+        writer.write(',');
+        writer.write(dto.getCreatedAt() != null ? dto.getCreatedAt().toString() : "");
+        writer.write(',');
+        writer.write(dto.getUpdatedAt() != null ? dto.getUpdatedAt().toString() : "");
+        writer.write('\n');
+    }
+
+    // Quote a CSV value when it contains a separator, quote or line break
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
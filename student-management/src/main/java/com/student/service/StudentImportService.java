@@ -0,0 +1,512 @@
+package com.student.service;
+
+import com.student.dto.ImportJobStatus;
+import com.student.dto.RejectedRow;
+import com.student.dto.StudentDTO;
+import com.student.event.StudentChangedEvent;
+import com.student.model.Student;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// CSV roster import: parse -> validate -> COPY into a staging table -> dedupe there -> INSERT ... SELECT into students
+@Service
+public class StudentImportService {
+
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE student_import_staging (" +
+            "line_no BIGINT NOT NULL, id BIGINT, name VARCHAR(50), course VARCHAR(100), fee DOUBLE PRECISION, " +
+            "email VARCHAR(100), phone VARCHAR(15), address VARCHAR(200), status VARCHAR(20)" +
+            ") ON COMMIT DROP";
+
+    private static final String COPY_SQL =
+            "COPY student_import_staging (line_no, name, course, fee, email, phone, address, status) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    // Later lines of the file repeating an email, then a phone: the first occurrence stays. Runs in the
+    // database so memory does not grow with the file; phones are checked among the rows left after the
+    // email pass, as a row dropped for its email never claimed its phone.
+    private static final String DELETE_DUPLICATE_EMAILS_SQL = deleteDuplicatesSql("email");
+    private static final String DELETE_DUPLICATE_PHONES_SQL = deleteDuplicatesSql("phone");
+
+    // Removes rows that clash with existing students and reports them in one statement
+    private static final String DELETE_CONFLICTS_SQL =
+            "DELETE FROM student_import_staging st " +
+            "WHERE EXISTS (SELECT 1 FROM students s WHERE s.email = st.email) " +
+            "OR EXISTS (SELECT 1 FROM students s WHERE s.phone = st.phone) " +
+            "RETURNING st.line_no, st.email, " +
+            "EXISTS (SELECT 1 FROM students s WHERE s.email = st.email) AS email_taken, st.phone";
+
+    // One nextval per block of staged rows, each row takes its id from its row number within the block
+    // (the same range Hibernate's pooled optimizer uses). The CTE evaluates every nextval exactly once.
+    private static final String ASSIGN_IDS_SQL =
+            "WITH numbered AS (" +
+            "SELECT line_no, row_number() OVER (ORDER BY line_no) - 1 AS n FROM student_import_staging), " +
+            "blocks AS (" +
+            "SELECT block, nextval('students_id_seq') AS hi FROM generate_series(0, (SELECT (count(*) - 1) / " +
+            Student.ID_ALLOCATION_SIZE + " FROM student_import_staging)) block) " +
+            "UPDATE student_import_staging st SET id = b.hi - " + (Student.ID_ALLOCATION_SIZE - 1) +
+            " + nb.n % " + Student.ID_ALLOCATION_SIZE + " " +
+            "FROM numbered nb JOIN blocks b ON b.block = nb.n / " + Student.ID_ALLOCATION_SIZE + " " +
+            "WHERE st.line_no = nb.line_no";
+
+    // ON CONFLICT covers students written concurrently after the conflict check
+    private static final String INSERT_SQL =
+            "INSERT INTO students (id, name, course, fee, email, phone, address, status, created_at, updated_at) " +
+            "SELECT id, name, course, fee, email, phone, address, status, now(), now() " +
+            "FROM student_import_staging ORDER BY id " +
+            "ON CONFLICT DO NOTHING";
+
+    // Staged rows the insert skipped: their reserved id is not in students
+    private static final String SKIPPED_SQL =
+            "SELECT st.line_no, st.email, " +
+            "EXISTS (SELECT 1 FROM students s WHERE s.email = st.email) AS email_taken, st.phone " +
+            "FROM student_import_staging st " +
+            "WHERE NOT EXISTS (SELECT 1 FROM students s WHERE s.id = st.id)";
+
+    // Rows buffered in memory before they are pushed to the COPY stream, and fetched per round trip
+    // when reading rejected rows back
+    private static final int COPY_BUFFER_ROWS = 1000;
+
+    // Finished jobs kept around for status polling
+    private static final int MAX_JOBS = 100;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private StudentMetrics metrics;
+
+    // Absent when student.outbox.enabled=false
+    @Autowired(required = false)
+    private StudentOutboxWriter outboxWriter;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${student.import.max-rejected-report:1000}")
+    private int maxRejectedReport;
+
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_JOBS;
+        }
+    });
+
+    // Spool the upload to disk and run the import in the background
+    public ImportJobStatus startImport(MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Uploaded file is empty");
+        }
+
+        Path spool = Files.createTempFile("student-import-", ".csv");
+        file.transferTo(spool);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename());
+        jobs.put(job.id, job);
+        taskExecutor.execute(() -> {
+            try {
+                runImport(job, spool);
+            } finally {
+                try {
+                    Files.deleteIfExists(spool);
+                } catch (IOException ignored) {
+                    // temp file is cleaned up by the OS
+                }
+            }
+        });
+        return job.toStatus();
+    }
+
+    // Get the progress and rejected-rows report of a job
+    public ImportJobStatus getJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Import job not found with id: " + jobId);
+        }
+        return job.toStatus();
+    }
+
+    void runImport(ImportJob job, Path csv) {
+        job.state = ImportJobStatus.State.RUNNING;
+        job.startedAt = LocalDateTime.now();
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_STAGING_SQL);
+                }
+
+                copyIntoStaging(job, csv, connection);
+                rejectDuplicates(job, connection, DELETE_DUPLICATE_EMAILS_SQL,
+                        "Duplicate email in file: ", StudentMetrics.REASON_DUPLICATE_EMAIL);
+                rejectDuplicates(job, connection, DELETE_DUPLICATE_PHONES_SQL,
+                        "Duplicate phone number in file: ", StudentMetrics.REASON_DUPLICATE_PHONE);
+                rejectConflicts(job, connection, DELETE_CONFLICTS_SQL);
+
+                if (job.rowsStaged > 0) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.executeUpdate(ASSIGN_IDS_SQL);
+                        job.rowsInserted = statement.executeUpdate(insertSql());
+                    }
+                    rejectConflicts(job, connection, SKIPPED_SQL);
+                }
+
+                connection.commit();
+                if (job.rowsInserted > 0) {
+                    events.publishEvent(StudentChangedEvent.bulk());
+                }
+                job.state = ImportJobStatus.State.COMPLETED;
+                job.message = "Import completed successfully";
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (Exception e) {
+            job.state = ImportJobStatus.State.FAILED;
+            job.message = "Import failed: " + e.getMessage();
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    // With the outbox on, the inserted rows feed one CREATED outbox row each in the same statement
+    private String insertSql() {
+        if (outboxWriter == null) {
+            return INSERT_SQL;
+        }
+        return "WITH inserted AS (" + INSERT_SQL + " RETURNING *) " +
+               outboxWriter.insertSelectSql(StudentChangedEvent.Type.CREATED, "inserted");
+    }
+
+    private void copyIntoStaging(ImportJob job, Path csv, Connection connection) throws IOException, SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            CsvReader records = new CsvReader(reader);
+            List<String> header = records.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file has no header row");
+            }
+            Map<String, Integer> columns = columnIndex(header);
+
+            StringBuilder buffer = new StringBuilder();
+            int buffered = 0;
+            List<String> record;
+            while ((record = records.next()) != null) {
+                long line = records.getRecordNumber();
+                job.rowsRead++;
+
+                StudentDTO dto;
+                try {
+                    dto = toStudent(record, columns);
+                } catch (IllegalArgumentException e) {
+                    job.reject(line, e.getMessage(), maxRejectedReport);
+                    metrics.rejected(StudentMetrics.SOURCE_IMPORT, StudentMetrics.REASON_VALIDATION);
+                    continue;
+                }
+
+                String violation = validate(dto);
+                if (violation != null) {
+                    job.reject(line, violation, maxRejectedReport);
+                    metrics.rejected(StudentMetrics.SOURCE_IMPORT, StudentMetrics.REASON_VALIDATION);
+                    continue;
+                }
+
+                appendCopyRow(buffer, line, dto);
+                job.rowsStaged++;
+                if (++buffered == COPY_BUFFER_ROWS) {
+                    writeCopy(copyIn, buffer);
+                    buffered = 0;
+                }
+            }
+            writeCopy(copyIn, buffer);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static String deleteDuplicatesSql(String column) {
+        return "WITH deleted AS (" +
+               "DELETE FROM student_import_staging st USING (" +
+               "SELECT line_no, row_number() OVER (PARTITION BY " + column + " ORDER BY line_no) AS occurrence " +
+               "FROM student_import_staging WHERE " + column + " IS NOT NULL) d " +
+               "WHERE st.line_no = d.line_no AND d.occurrence > 1 " +
+               "RETURNING st.line_no, st." + column + " AS value) " +
+               "SELECT line_no, value FROM deleted ORDER BY line_no";
+    }
+
+    // Report the rows a duplicate query returns (line_no, value) as rejected
+    private void rejectDuplicates(ImportJob job, Connection connection, String sql, String message, String reason)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(COPY_BUFFER_ROWS);
+            try (ResultSet rs = statement.executeQuery(sql)) {
+                while (rs.next()) {
+                    metrics.rejected(StudentMetrics.SOURCE_IMPORT, reason);
+                    job.rowsStaged--;
+                    job.reject(rs.getLong("line_no"), message + rs.getString("value"), maxRejectedReport);
+                }
+            }
+        }
+    }
+
+    // Report the rows a conflict query returns (line_no, email, email_taken, phone) as rejected
+    private void rejectConflicts(ImportJob job, Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(COPY_BUFFER_ROWS);
+            try (ResultSet rs = statement.executeQuery(sql)) {
+                while (rs.next()) {
+                    boolean emailTaken = rs.getBoolean("email_taken");
+                    String reason = emailTaken
+                            ? "Email already exists: " + rs.getString("email")
+                            : "Phone number already exists: " + rs.getString("phone");
+                    metrics.rejected(StudentMetrics.SOURCE_IMPORT,
+                            emailTaken ? StudentMetrics.REASON_DUPLICATE_EMAIL : StudentMetrics.REASON_DUPLICATE_PHONE);
+                    job.rowsStaged--;
+                    job.reject(rs.getLong("line_no"), reason, maxRejectedReport);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> columnIndex(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(), i);
+        }
+        for (String required : List.of("name", "course", "fee")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing required column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private static StudentDTO toStudent(List<String> record, Map<String, Integer> columns) {
+        StudentDTO dto = new StudentDTO();
+        dto.setName(value(record, columns, "name"));
+        dto.setCourse(value(record, columns, "course"));
+        dto.setEmail(value(record, columns, "email"));
+        dto.setPhone(value(record, columns, "phone"));
+        dto.setAddress(value(record, columns, "address"));
+
+        String fee = value(record, columns, "fee");
+        if (fee != null) {
+            try {
+                dto.setFee(Double.valueOf(fee));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid fee: " + fee);
+            }
+        }
+
+        String status = value(record, columns, "status");
+        try {
+            dto.setStatus(status != null ? Student.StudentStatus.valueOf(status.toUpperCase()) : Student.StudentStatus.ACTIVE);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+        return dto;
+    }
+
+    private static String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Reuse the Bean Validation constraints declared on StudentDTO
+    private String validate(StudentDTO dto) {
+        Set<ConstraintViolation<StudentDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return "Validation failed: " + violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static void appendCopyRow(StringBuilder buffer, long line, StudentDTO dto) {
+        buffer.append(line).append(',');
+        appendCopyValue(buffer, dto.getName()).append(',');
+        appendCopyValue(buffer, dto.getCourse()).append(',');
+        buffer.append(dto.getFee()).append(',');
+        appendCopyValue(buffer, dto.getEmail()).append(',');
+        appendCopyValue(buffer, dto.getPhone()).append(',');
+        appendCopyValue(buffer, dto.getAddress()).append(',');
+        appendCopyValue(buffer, dto.getStatus().name()).append('\n');
+    }
+
+    // COPY csv: unquoted empty is NULL, anything else is quoted with doubled quotes
+    private static StringBuilder appendCopyValue(StringBuilder buffer, String value) {
+        if (value == null) {
+            return buffer;
+        }
+        return buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void writeCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    // Minimal RFC 4180 reader: quoted fields may contain separators, doubled quotes and line breaks
+    static class CsvReader {
+
+        private final BufferedReader reader;
+        private long recordNumber;
+
+        CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        List<String> next() throws IOException {
+            String line = reader.readLine();
+            while (line != null && line.isBlank()) {
+                recordNumber++;
+                line = reader.readLine();
+            }
+            if (line == null) {
+                return null;
+            }
+            recordNumber++;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // Quoted field continues on the next physical line
+                    String continuation = reader.readLine();
+                    if (continuation == null) {
+                        throw new IllegalArgumentException("Unterminated quoted field at record " + recordNumber);
+                    }
+                    field.append('\n');
+                    line = continuation;
+                    i = 0;
+                    continue;
+                }
+
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i < line.length() && line.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        long getRecordNumber() {
+            return recordNumber;
+        }
+    }
+
+    // Mutable job state, progress counters are written by the import thread and read by status requests
+    static class ImportJob {
+
+        private final String id;
+        private final String fileName;
+        private volatile ImportJobStatus.State state = ImportJobStatus.State.QUEUED;
+        private volatile long rowsRead;
+        private volatile long rowsStaged;
+        private volatile long rowsRejected;
+        private volatile long rowsInserted;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String message;
+        private final List<RejectedRow> rejectedRows = Collections.synchronizedList(new ArrayList<>());
+
+        ImportJob(String id, String fileName) {
+            this.id = id;
+            this.fileName = fileName;
+        }
+
+        void reject(long line, String reason, int maxReport) {
+            rowsRejected++;
+            if (rejectedRows.size() < maxReport) {
+                rejectedRows.add(new RejectedRow(line, reason));
+            }
+        }
+
+        ImportJobStatus toStatus() {
+            List<RejectedRow> report;
+            synchronized (rejectedRows) {
+                report = new ArrayList<>(rejectedRows);
+            }
+            return new ImportJobStatus(id, fileName, state, rowsRead, rowsStaged, rowsRejected, rowsInserted,
+                    startedAt, finishedAt, message, report, rowsRejected > report.size());
+        }
+    }
+}
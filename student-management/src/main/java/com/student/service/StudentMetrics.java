@@ -0,0 +1,27 @@
+package com.student.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Counters for rejected student writes, tagged by entry point (api, batch, import) and reason
+@Component
+public class StudentMetrics {
+
+    public static final String REJECTIONS = "student.rejections";
+
+    public static final String SOURCE_API = "api";
+    public static final String SOURCE_BATCH = "batch";
+    public static final String SOURCE_IMPORT = "import";
+
+    public static final String REASON_VALIDATION = "validation";
+    public static final String REASON_DUPLICATE_EMAIL = "duplicate_email";
+    public static final String REASON_DUPLICATE_PHONE = "duplicate_phone";
+
+    @Autowired
+    private MeterRegistry registry;
+
+    public void rejected(String source, String reason) {
+        registry.counter(REJECTIONS, "source", source, "reason", reason).increment();
+    }
+}
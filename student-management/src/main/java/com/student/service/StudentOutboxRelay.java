@@ -0,0 +1,120 @@
+package com.student.service;
+
+import com.student.dto.StudentChange;
+import com.student.model.StudentOutboxCursor;
+import com.student.model.StudentOutboxEvent;
+import com.student.repository.StudentOutboxRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Drains student_outbox in batches: numbers each event with the next position and hands the batch
+// to every StudentChangeSink in the same transaction. The cursor row lock serializes relays across
+// instances, and outbox ids of one student follow commit order, so each student's changes get
+// positions in the order they committed.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "student.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class StudentOutboxRelay {
+
+    @Autowired
+    private StudentOutboxRepository outboxRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private List<StudentChangeSink> sinks;
+
+    @Value("${student.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${student.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    // A lock rather than a monitor: relaying does JDBC I/O and may run on a virtual thread
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    @Scheduled(initialDelayString = "${student.outbox.relay-interval-ms:500}",
+               fixedDelayString = "${student.outbox.relay-interval-ms:500}")
+    public void scheduledRelay() {
+        try {
+            relayPending();
+        } catch (RuntimeException e) {
+            // Nothing was marked relayed, the next run retries
+            log.warn("Relaying student changes failed: {}", e.getMessage());
+        }
+    }
+
+    // Relay everything pending, returns the number of events relayed
+    public int relayPending() {
+        relayLock.lock();
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            int total = 0;
+            int relayed;
+            do {
+                relayed = transaction.execute(status -> relayBatch());
+                total += relayed;
+            } while (relayed == batchSize);
+            return total;
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    private int relayBatch() {
+        StudentOutboxCursor cursor = entityManager.find(StudentOutboxCursor.class, StudentOutboxCursor.RELAY,
+                LockModeType.PESSIMISTIC_WRITE);
+        if (cursor == null) {
+            cursor = new StudentOutboxCursor(StudentOutboxCursor.RELAY, 0);
+            entityManager.persist(cursor);
+        }
+
+        List<StudentOutboxEvent> batch = outboxRepo.findUnpublished(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long position = cursor.getPosition();
+        List<StudentChange> changes = new ArrayList<>(batch.size());
+        for (StudentOutboxEvent event : batch) {
+            event.setPosition(++position);
+            event.setPublishedAt(now);
+            changes.add(StudentChange.fromEntity(event));
+        }
+        cursor.setPosition(position);
+
+        for (StudentChangeSink sink : sinks) {
+            sink.publish(changes);
+        }
+        return batch.size();
+    }
+
+    // Drop relayed events once consumers have had the retention period to catch up
+    @Scheduled(initialDelayString = "${student.outbox.purge-interval-ms:3600000}",
+               fixedDelayString = "${student.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Integer purged = transaction.execute(status ->
+                outboxRepo.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours)));
+        log.debug("Purged {} relayed student changes", purged);
+    }
+}
@@ -0,0 +1,151 @@
+package com.student.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.dto.StudentDTO;
+import com.student.event.StudentChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Records every student change in student_outbox as part of the transaction that made it, so a
+// change and its event commit or roll back together
+@Component
+@ConditionalOnProperty(name = "student.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class StudentOutboxWriter {
+
+    // Three bind parameters per row, well inside the 65535 a Postgres statement allows
+    private static final int ROWS_PER_INSERT = 10000;
+
+    // StudentDTO's JSON properties in declaration order, next to the students column holding each
+    private static final String[][] PAYLOAD_COLUMNS = {
+            {"id", "id"}, {"name", "name"}, {"course", "course"}, {"fee", "fee"}, {"email", "email"},
+            {"phone", "phone"}, {"address", "address"}, {"status", "status"}, {"version", "version"},
+            {"createdAt", "created_at"}, {"updatedAt", "updated_at"}
+    };
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Transaction resource holding the events of the current transaction, written in beforeCommit
+    private final Object pendingKey = new Object();
+
+    // Buffers the change and writes all of the transaction's outbox rows at once before it commits.
+    // Set-based changes write their own rows through recordAll, BULK only tells in-process listeners to resync.
+    // Outside a transaction nothing is written, there is no commit for the row to share.
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getType() == StudentChangedEvent.Type.BULK
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<StudentChangedEvent> pending = (List<StudentChangedEvent>) TransactionSynchronizationManager.getResource(pendingKey);
+        if (pending == null) {
+            List<StudentChangedEvent> events = new ArrayList<>();
+            pending = events;
+            TransactionSynchronizationManager.bindResource(pendingKey, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insertAll(events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(pendingKey);
+                }
+            });
+        }
+        pending.add(event);
+    }
+
+    // Take the student row locks before the first outbox id, so ids of one student follow commit order,
+    // then insert the rows in event order with one INSERT ... SELECT per ROWS_PER_INSERT events
+    private void insertAll(List<StudentChangedEvent> events) {
+        entityManager.flush();
+        for (int from = 0; from < events.size(); from += ROWS_PER_INSERT) {
+            List<StudentChangedEvent> chunk = events.subList(from, Math.min(events.size(), from + ROWS_PER_INSERT));
+            StringBuilder values = new StringBuilder();
+            for (int i = 0; i < chunk.size(); i++) {
+                values.append(i > 0 ? ", " : "").append('(').append(i)
+                        .append(", CAST(? AS VARCHAR(20)), CAST(? AS BIGINT), CAST(? AS TEXT))");
+            }
+            // Ordered by n, so nextval runs after the sort and numbers the rows in event order
+            Query insert = entityManager.createNativeQuery(
+                    "INSERT INTO student_outbox (id, type, student_id, payload, occurred_at) " +
+                    "SELECT nextval('student_outbox_id_seq'), v.type, v.student_id, v.payload, LOCALTIMESTAMP " +
+                    "FROM (VALUES " + values + ") AS v(n, type, student_id, payload) ORDER BY v.n");
+            int parameter = 1;
+            for (StudentChangedEvent event : chunk) {
+                StudentDTO student = event.getAfter() != null ? event.getAfter() : event.getBefore();
+                insert.setParameter(parameter++, event.getType().name());
+                insert.setParameter(parameter++, student.getId());
+                insert.setParameter(parameter++, toJson(student));
+            }
+            insert.executeUpdate();
+        }
+    }
+
+    // One outbox row per listed student with its current state, for changes made by a set-based
+    // statement in the caller's transaction (after it, so the rows are already locked)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int recordAll(StudentChangedEvent.Type type, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return 0;
+        }
+        return entityManager.createNativeQuery(insertSelectSql(type, "students") + " WHERE s.id IN (:ids)")
+                .setParameter("ids", studentIds)
+                .executeUpdate();
+    }
+
+    // INSERT INTO student_outbox ... SELECT over source (aliased s), which must have the students columns
+    public String insertSelectSql(StudentChangedEvent.Type type, String source) {
+        return "INSERT INTO student_outbox (id, type, student_id, payload, occurred_at) " +
+               "SELECT nextval('student_outbox_id_seq'), '" + type.name() + "', s.id, " + payloadSql() +
+               ", LOCALTIMESTAMP FROM " + source + " s";
+    }
+
+    // The row as StudentDTO JSON; JSON_OBJECT only exists from Postgres 16, json_build_object elsewhere there
+    private String payloadSql() {
+        boolean postgres = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        StringBuilder sql = new StringBuilder(postgres ? "json_build_object(" : "JSON_OBJECT(");
+        for (int i = 0; i < PAYLOAD_COLUMNS.length; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append('\'').append(PAYLOAD_COLUMNS[i][0]).append(postgres ? "', s." : "' VALUE s.")
+                    .append(PAYLOAD_COLUMNS[i][1]);
+        }
+        return "CAST(" + sql + ") AS VARCHAR)";
+    }
+
+    private String toJson(StudentDTO student) {
+        try {
+            return objectMapper.writeValueAsString(student);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize student " + student.getId(), e);
+        }
+    }
+}
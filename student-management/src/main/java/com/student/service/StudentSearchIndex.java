@@ -0,0 +1,752 @@
+package com.student.service;
+
+import com.student.dto.StudentDTO;
+import com.student.dto.StudentSuggestion;
+import com.student.event.StudentChangedEvent;
+import com.student.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// In-memory type-ahead index over name, email and course. A build packs every word into one sorted
+// dictionary with primitive posting arrays (student numbers, in word order) and a leading-trigram ->
+// word index for bounded edit-distance matches; later changes go to a small delta that is merged into
+// a new build once it grows. Queries score a capped, best-first set of candidates.
+// Reads are lock-free, writes are serialized.
+@Component
+public class StudentSearchIndex {
+
+    // Upper bound on students scored per query: exact word matches first, then prefixes, then fuzzy ones
+    private static final int MAX_CANDIDATES = 500;
+
+    // Upper bound on fuzzy words verified with edit distance per term, most shared trigrams first
+    private static final int MAX_FUZZY_CANDIDATES = 200;
+
+    // Trigrams held by more words than this say little about a term and are not counted
+    private static final int MAX_GRAM_WORDS = 20000;
+
+    // Trigrams indexed per word, from its start: type-ahead matches are anchored there
+    private static final int GRAMS_PER_WORD = 6;
+
+    // Changed students kept in the delta before it is merged, at least this many or a quarter of the build
+    private static final int MIN_DELTA = 10000;
+
+    private static final int EXACT_SCORE = 3;
+    private static final int PREFIX_SCORE = 2;
+    private static final int FUZZY_SCORE = 1;
+
+    @Autowired
+    private StudentRepository repo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    private volatile Index index = new Index(Base.build(new ArrayList<>()));
+
+    // A lock rather than a monitor: the rebuild does JDBC I/O and may run on a virtual thread
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Changes applied while a rebuild is reading its students, replayed onto the new index
+    private List<StudentDTO[]> pendingChanges;
+
+    private boolean mergeScheduled;
+
+    // In the background: at a million students the load takes seconds, suggestions fill in meanwhile
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        executor().execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getType() == StudentChangedEvent.Type.BULK) {
+            executor().execute(this::rebuild);
+        } else {
+            apply(event.getBefore(), event.getAfter());
+        }
+    }
+
+    // Suggestions for a partially typed query, best matches first
+    public List<StudentSuggestion> suggest(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        // Every term has to match (AND) and scores add up. The rarest term gives the candidates, preferring
+        // one whose matching words were all found; the other terms are checked against each candidate's
+        // own words.
+        Index current = index;
+        TermMatches rarest = null;
+        for (String term : terms) {
+            TermMatches matches = current.match(term);
+            if (rarest == null || (matches.complete && !rarest.complete)
+                    || (matches.complete == rarest.complete && matches.postings < rarest.postings)) {
+                rarest = matches;
+            }
+        }
+        Map<Integer, Integer> scores = current.candidates(rarest);
+        for (String term : terms) {
+            if (!term.equals(rarest.term) && !scores.isEmpty()) {
+                verify(scores, term, current);
+            }
+        }
+
+        // Only the best `limit` are kept and sorted
+        Comparator<StudentSuggestion> ranking = Comparator.comparingInt(StudentSuggestion::getScore).reversed()
+                .thenComparing(StudentSuggestion::getName, Comparator.nullsLast(String::compareToIgnoreCase))
+                .thenComparing(StudentSuggestion::getId);
+        PriorityQueue<StudentSuggestion> best = new PriorityQueue<>(ranking.reversed());
+        for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+            Document doc = current.document(entry.getKey());
+            if (doc == null) continue;
+            best.add(new StudentSuggestion(doc.id, doc.name, doc.email, doc.course, entry.getValue()));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<StudentSuggestion> suggestions = new ArrayList<>(best);
+        suggestions.sort(ranking);
+        return suggestions;
+    }
+
+    // Keep the candidates whose own words also match the term and add their best score
+    private static void verify(Map<Integer, Integer> scores, String term, Index current) {
+        int maxEdits = maxEdits(term);
+        Iterator<Map.Entry<Integer, Integer>> entries = scores.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Integer, Integer> entry = entries.next();
+            int score = current.score(entry.getKey(), term, maxEdits);
+            if (score == 0) {
+                entries.remove();
+            } else {
+                entry.setValue(entry.getValue() + score);
+            }
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // Reload the whole index from the database, then swap it in
+    public void rebuild() {
+        rebuild(current -> {
+            List<Document> docs = new ArrayList<>();
+            // Not read-only: that could route to a lagging replica and lose changes committed before pendingChanges was set
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = repo.streamSearchFields()) {
+                    rows.forEach(row -> docs.add(new Document((Long) row[0], (String) row[1], (String) row[2], (String) row[3])));
+                }
+            });
+            return docs;
+        });
+    }
+
+    // Build a new index from the students the source returns, replay the changes made meanwhile, swap it in
+    private void rebuild(Function<Index, List<Document>> source) {
+        rebuildLock.lock();
+        try {
+            Index current;
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+                current = index;
+            }
+
+            Index fresh = new Index(Base.build(source.apply(current)));
+
+            synchronized (this) {
+                for (StudentDTO[] change : pendingChanges) {
+                    fresh.apply(change[0], change[1]);
+                }
+                pendingChanges = null;
+                index = fresh;
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private synchronized void apply(StudentDTO before, StudentDTO after) {
+        index.apply(before, after);
+        if (pendingChanges != null) {
+            pendingChanges.add(new StudentDTO[] { before, after });
+        }
+        if (!mergeScheduled && index.deltaSize() > Math.max(MIN_DELTA, index.base.size() / 4)) {
+            mergeScheduled = true;
+            executor().execute(this::merge);
+        }
+    }
+
+    // Fold the delta into a new build, from the index itself; changes made while it runs are replayed
+    public void merge() {
+        try {
+            rebuild(Index::liveDocuments);
+        } finally {
+            synchronized (this) {
+                mergeScheduled = false;
+            }
+        }
+    }
+
+    // Without a Spring context (benchmarks, unit tests) the background work runs inline
+    private Executor executor() {
+        return taskExecutor != null ? taskExecutor : Runnable::run;
+    }
+
+    // Lower-case alphanumeric words; emails split on '@' and '.'
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    // Letters and numbers, the characters tokenize keeps
+    static boolean isWordChar(char c) {
+        if (Character.isLetter(c)) return true;
+        int type = Character.getType(c);
+        return type == Character.DECIMAL_DIGIT_NUMBER || type == Character.LETTER_NUMBER || type == Character.OTHER_NUMBER;
+    }
+
+    // Allowed edits grow with term length, short terms only match by prefix
+    static int maxEdits(String term) {
+        if (term.length() <= 3) return 0;
+        if (term.length() <= 6) return 1;
+        return 2;
+    }
+
+    // Levenshtein distance between term and the closest prefix of token, or maxEdits + 1 when above the bound
+    static int prefixDistance(String term, String token, int maxEdits) {
+        return prefixDistance(term, token, 0, token.length(), maxEdits);
+    }
+
+    // Same for the word text[start, end), compared in lower case
+    static int prefixDistance(String term, String text, int start, int end, int maxEdits) {
+        int n = term.length();
+        int m = Math.min(end - start, n + maxEdits);
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) previous[j] = j;
+
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = term.charAt(i - 1) == Character.toLowerCase(text.charAt(start + j - 1)) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        // Best over every prefix length of the token that is still within reach
+        int best = maxEdits + 1;
+        for (int j = Math.max(0, n - maxEdits); j <= m; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+
+    // The first GRAMS_PER_WORD start-padded trigrams, type-ahead matches are anchored at the start of a word
+    static Set<String> grams(String token) {
+        String padded = "$" + token;
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length() && i < GRAMS_PER_WORD; i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static final class Document {
+        private final Long id;
+        private final String name;
+        private final String email;
+        private final String course;
+
+        private Document(Long id, String name, String email, String course) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+            this.course = course;
+        }
+
+        private Set<String> tokens() {
+            Set<String> tokens = new HashSet<>();
+            tokens.addAll(tokenize(name));
+            tokens.addAll(tokenize(email));
+            tokens.addAll(tokenize(course));
+            return tokens;
+        }
+
+    }
+
+    // Best score of the term against a student's words, 0 when none matches. Scans the fields in place
+    // rather than through tokens(): it runs once per candidate and term.
+    private static int score(String name, String email, String course, String term, int maxEdits) {
+        int best = 0;
+        for (String text : new String[] { name, email, course }) {
+            if (text == null) continue;
+            int end = 0;
+            while (end < text.length()) {
+                int start = end;
+                while (start < text.length() && !isWordChar(text.charAt(start))) start++;
+                end = start;
+                while (end < text.length() && isWordChar(text.charAt(end))) end++;
+                if (start == end) continue;
+
+                if (end - start >= term.length() && text.regionMatches(true, start, term, 0, term.length())) {
+                    if (end - start == term.length()) {
+                        return EXACT_SCORE;
+                    }
+                    best = PREFIX_SCORE;
+                } else if (best == 0 && maxEdits > 0 && prefixDistance(term, text, start, end, maxEdits) <= maxEdits) {
+                    best = FUZZY_SCORE;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Growable int array, for building posting lists
+    private static final class Ints {
+        private int[] values = new int[2];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    // The words one term matches. In the build: the word range it prefixes (with its exact word, if any,
+    // first) and fuzzy words; in the delta, the posting sets themselves. Complete unless a cap left out
+    // some fuzzy words.
+    private static final class TermMatches {
+        private final String term;
+        private int exact = -1;
+        private int prefixFrom;
+        private int prefixTo;
+        private int[] fuzzy = new int[0];
+        private final List<Set<Integer>> deltaExact = new ArrayList<>();
+        private final List<Set<Integer>> deltaPrefix = new ArrayList<>();
+        private final List<Set<Integer>> deltaFuzzy = new ArrayList<>();
+        private long postings;
+        private boolean complete = true;
+
+        private TermMatches(String term) {
+            this.term = term;
+        }
+    }
+
+    // Immutable result of a build. Students are numbered in id order; word w's students are
+    // postings[postingStart[w] .. postingStart[w + 1]), so a word range's posting count is one subtraction.
+    private static final class Base {
+        private final long[] ids;
+        private final String[] names;
+        private final String[] emails;
+        private final String[] courses;
+        // Word w is words[wordStart[w] .. wordStart[w + 1]), words in sorted order
+        private final char[] words;
+        private final int[] wordStart;
+        private final int[] postingStart;
+        private final int[] postings;
+        // Leading trigram -> numbers of the words starting with it, ascending
+        private final Map<String, int[]> gramWords;
+
+        private Base(long[] ids, String[] names, String[] emails, String[] courses, char[] words, int[] wordStart,
+                     int[] postingStart, int[] postings, Map<String, int[]> gramWords) {
+            this.ids = ids;
+            this.names = names;
+            this.emails = emails;
+            this.courses = courses;
+            this.words = words;
+            this.wordStart = wordStart;
+            this.postingStart = postingStart;
+            this.postings = postings;
+            this.gramWords = gramWords;
+        }
+
+        static Base build(List<Document> docs) {
+            docs.sort(Comparator.comparing(doc -> doc.id));
+            int n = docs.size();
+            long[] ids = new long[n];
+            String[] names = new String[n];
+            String[] emails = new String[n];
+            String[] courses = new String[n];
+            // Few distinct courses, share their strings
+            Map<String, String> courseNames = new HashMap<>();
+            Map<String, Ints> wordDocs = new HashMap<>();
+            for (int d = 0; d < n; d++) {
+                Document doc = docs.get(d);
+                ids[d] = doc.id;
+                names[d] = doc.name;
+                emails[d] = doc.email;
+                courses[d] = doc.course == null ? null : courseNames.computeIfAbsent(doc.course, c -> c);
+                for (String token : doc.tokens()) {
+                    wordDocs.computeIfAbsent(token, t -> new Ints()).add(d);
+                }
+            }
+
+            String[] sorted = wordDocs.keySet().toArray(new String[0]);
+            Arrays.sort(sorted);
+            int[] wordStart = new int[sorted.length + 1];
+            int[] postingStart = new int[sorted.length + 1];
+            for (int w = 0; w < sorted.length; w++) {
+                wordStart[w + 1] = wordStart[w] + sorted[w].length();
+                postingStart[w + 1] = postingStart[w] + wordDocs.get(sorted[w]).size;
+            }
+            char[] words = new char[wordStart[sorted.length]];
+            int[] postings = new int[postingStart[sorted.length]];
+            Map<String, Ints> gramLists = new HashMap<>();
+            for (int w = 0; w < sorted.length; w++) {
+                sorted[w].getChars(0, sorted[w].length(), words, wordStart[w]);
+                Ints docsOfWord = wordDocs.get(sorted[w]);
+                System.arraycopy(docsOfWord.values, 0, postings, postingStart[w], docsOfWord.size);
+                for (String gram : grams(sorted[w])) {
+                    gramLists.computeIfAbsent(gram, g -> new Ints()).add(w);
+                }
+            }
+            Map<String, int[]> gramWords = new HashMap<>(gramLists.size() * 2);
+            gramLists.forEach((gram, list) -> gramWords.put(gram, list.toArray()));
+            return new Base(ids, names, emails, courses, words, wordStart, postingStart, postings, gramWords);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        // Student number of the id, or -1
+        int find(long id) {
+            int d = Arrays.binarySearch(ids, id);
+            return d >= 0 ? d : -1;
+        }
+
+        int postingCount(int fromWord, int toWord) {
+            return postingStart[toWord] - postingStart[fromWord];
+        }
+
+        String word(int w) {
+            return new String(words, wordStart[w], wordStart[w + 1] - wordStart[w]);
+        }
+
+        // Compares word w with the term over the term's length: 0 when w starts with it
+        private int comparePrefix(int w, String term) {
+            int start = wordStart[w];
+            int length = wordStart[w + 1] - start;
+            for (int i = 0; i < term.length(); i++) {
+                if (i == length) return -1;
+                int diff = words[start + i] - term.charAt(i);
+                if (diff != 0) return diff;
+            }
+            return 0;
+        }
+
+        boolean startsWith(int w, String term) {
+            return comparePrefix(w, term) == 0;
+        }
+
+        // First word at or after the term's prefix range (upper = false: its start, true: its end)
+        private int bound(String term, boolean upper) {
+            int low = 0;
+            int high = wordStart.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int cmp = comparePrefix(mid, term);
+                if (cmp < 0 || (upper && cmp == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void match(String term, TermMatches matches) {
+            matches.prefixFrom = bound(term, false);
+            matches.prefixTo = bound(term, true);
+            if (matches.prefixFrom < matches.prefixTo
+                    && wordStart[matches.prefixFrom + 1] - wordStart[matches.prefixFrom] == term.length()) {
+                matches.exact = matches.prefixFrom;
+            }
+            matches.postings += postingCount(matches.prefixFrom, matches.prefixTo);
+
+            int maxEdits = maxEdits(term);
+            if (maxEdits == 0) {
+                return;
+            }
+            // Count the leading trigrams each word shares with the term by merging the sorted lists,
+            // then verify the words sharing the most
+            List<int[]> lists = new ArrayList<>();
+            for (String gram : grams(term)) {
+                int[] list = gramWords.get(gram);
+                if (list == null) continue;
+                if (list.length > MAX_GRAM_WORDS) {
+                    matches.complete = false;
+                    continue;
+                }
+                lists.add(list);
+            }
+            Ints[] byShared = new Ints[lists.size() + 1];
+            int[] heads = new int[lists.size()];
+            while (true) {
+                int word = Integer.MAX_VALUE;
+                for (int i = 0; i < lists.size(); i++) {
+                    if (heads[i] < lists.get(i).length) word = Math.min(word, lists.get(i)[heads[i]]);
+                }
+                if (word == Integer.MAX_VALUE) break;
+                int shared = 0;
+                for (int i = 0; i < lists.size(); i++) {
+                    if (heads[i] < lists.get(i).length && lists.get(i)[heads[i]] == word) {
+                        heads[i]++;
+                        shared++;
+                    }
+                }
+                if (word >= matches.prefixFrom && word < matches.prefixTo) continue;
+                if (byShared[shared] == null) byShared[shared] = new Ints();
+                byShared[shared].add(word);
+            }
+
+            Ints fuzzy = new Ints();
+            int verified = 0;
+            for (int shared = byShared.length - 1; shared > 0; shared--) {
+                if (byShared[shared] == null) continue;
+                for (int i = 0; i < byShared[shared].size; i++) {
+                    if (verified++ == MAX_FUZZY_CANDIDATES) {
+                        matches.complete = false;
+                        matches.fuzzy = fuzzy.toArray();
+                        return;
+                    }
+                    int word = byShared[shared].values[i];
+                    if (prefixDistance(term, word(word), maxEdits) <= maxEdits) {
+                        fuzzy.add(word);
+                        matches.postings += postingCount(word, word + 1);
+                    }
+                }
+            }
+            matches.fuzzy = fuzzy.toArray();
+        }
+    }
+
+    // A build plus the changes since: students replaced or removed from the build are marked, changed
+    // ones get new numbers after the build's and are indexed in concurrent maps until the next merge.
+    private static final class Index {
+        private final Base base;
+        private final Set<Integer> removed = ConcurrentHashMap.newKeySet();
+        private final Map<Integer, Document> documents = new ConcurrentHashMap<>();
+        private final Map<Long, Integer> numbers = new ConcurrentHashMap<>();
+        private final NavigableMap<String, Set<Integer>> postings = new ConcurrentSkipListMap<>();
+        private final Map<String, Set<String>> gramTokens = new ConcurrentHashMap<>();
+        private final AtomicInteger nextNumber;
+
+        Index(Base base) {
+            this.base = base;
+            this.nextNumber = new AtomicInteger(base.size());
+        }
+
+        int size() {
+            return base.size() - removed.size() + documents.size();
+        }
+
+        int deltaSize() {
+            return removed.size() + documents.size();
+        }
+
+        Document document(int d) {
+            if (d >= base.size()) {
+                return documents.get(d);
+            }
+            if (removed.contains(d)) {
+                return null;
+            }
+            return new Document(base.ids[d], base.names[d], base.emails[d], base.courses[d]);
+        }
+
+        int score(int d, String term, int maxEdits) {
+            if (d >= base.size()) {
+                Document doc = documents.get(d);
+                return doc == null ? 0 : StudentSearchIndex.score(doc.name, doc.email, doc.course, term, maxEdits);
+            }
+            if (removed.contains(d)) {
+                return 0;
+            }
+            return StudentSearchIndex.score(base.names[d], base.emails[d], base.courses[d], term, maxEdits);
+        }
+
+        List<Document> liveDocuments() {
+            List<Document> docs = new ArrayList<>(size());
+            for (int d = 0; d < base.size(); d++) {
+                if (!removed.contains(d)) {
+                    docs.add(new Document(base.ids[d], base.names[d], base.emails[d], base.courses[d]));
+                }
+            }
+            docs.addAll(documents.values());
+            return docs;
+        }
+
+        void apply(StudentDTO before, StudentDTO after) {
+            if (after != null) {
+                put(new Document(after.getId(), after.getName(), after.getEmail(), after.getCourse()));
+            } else if (before != null) {
+                remove(before.getId());
+            }
+        }
+
+        void put(Document doc) {
+            remove(doc.id);
+            int d = nextNumber.getAndIncrement();
+            documents.put(d, doc);
+            numbers.put(doc.id, d);
+            for (String token : doc.tokens()) {
+                Set<Integer> ids = postings.get(token);
+                if (ids == null) {
+                    ids = ConcurrentHashMap.newKeySet();
+                    postings.put(token, ids);
+                    for (String gram : grams(token)) {
+                        gramTokens.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(token);
+                    }
+                }
+                ids.add(d);
+            }
+        }
+
+        void remove(Long id) {
+            Integer d = numbers.remove(id);
+            if (d == null) {
+                int inBase = base.find(id);
+                if (inBase >= 0) removed.add(inBase);
+                return;
+            }
+            Document doc = documents.remove(d);
+            for (String token : doc.tokens()) {
+                Set<Integer> ids = postings.get(token);
+                if (ids == null) continue;
+                ids.remove(d);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                    for (String gram : grams(token)) {
+                        Set<String> tokens = gramTokens.get(gram);
+                        if (tokens != null) {
+                            tokens.remove(token);
+                            if (tokens.isEmpty()) gramTokens.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Words matching one term, in the build and in the delta
+        TermMatches match(String term) {
+            TermMatches matches = new TermMatches(term);
+            base.match(term, matches);
+
+            for (Map.Entry<String, Set<Integer>> entry : postings.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+                (entry.getKey().equals(term) ? matches.deltaExact : matches.deltaPrefix).add(entry.getValue());
+                matches.postings += entry.getValue().size();
+            }
+            int maxEdits = maxEdits(term);
+            if (maxEdits == 0) {
+                return matches;
+            }
+            Set<String> candidates = new HashSet<>();
+            for (String gram : grams(term)) {
+                Set<String> tokens = gramTokens.get(gram);
+                if (tokens == null) continue;
+                for (String token : tokens) {
+                    if (token.startsWith(term) || candidates.contains(token)) continue;
+                    if (candidates.size() == MAX_FUZZY_CANDIDATES) {
+                        matches.complete = false;
+                        break;
+                    }
+                    candidates.add(token);
+                }
+            }
+            for (String token : candidates) {
+                Set<Integer> ids = postings.get(token);
+                if (ids != null && prefixDistance(term, token, maxEdits) <= maxEdits) {
+                    matches.deltaFuzzy.add(ids);
+                    matches.postings += ids.size();
+                }
+            }
+            return matches;
+        }
+
+        // Up to MAX_CANDIDATES live students matching the term, best matches first, with their score
+        Map<Integer, Integer> candidates(TermMatches matches) {
+            Map<Integer, Integer> scores = new HashMap<>();
+            if (matches.exact >= 0) {
+                addBase(scores, matches.exact, matches.exact + 1, EXACT_SCORE);
+            }
+            addDelta(scores, matches.deltaExact, EXACT_SCORE);
+            addBase(scores, matches.exact >= 0 ? matches.exact + 1 : matches.prefixFrom, matches.prefixTo, PREFIX_SCORE);
+            addDelta(scores, matches.deltaPrefix, PREFIX_SCORE);
+            for (int word : matches.fuzzy) {
+                addBase(scores, word, word + 1, FUZZY_SCORE);
+            }
+            addDelta(scores, matches.deltaFuzzy, FUZZY_SCORE);
+            return scores;
+        }
+
+        private void addBase(Map<Integer, Integer> scores, int fromWord, int toWord, int score) {
+            int end = base.postingStart[toWord];
+            for (int p = base.postingStart[fromWord]; p < end && scores.size() < MAX_CANDIDATES; p++) {
+                int d = base.postings[p];
+                if (!removed.contains(d)) scores.putIfAbsent(d, score);
+            }
+        }
+
+        private static void addDelta(Map<Integer, Integer> scores, List<Set<Integer>> sets, int score) {
+            for (Set<Integer> set : sets) {
+                for (Integer d : set) {
+                    if (scores.size() >= MAX_CANDIDATES) return;
+                    scores.putIfAbsent(d, score);
+                }
+            }
+        }
+    }
+}
@@ -1,26 +1,70 @@
 package com.student.service;
 
+import com.student.dto.CursorPage;
 import com.student.dto.StudentDTO;
+import com.student.dto.StudentSearchCriteria;
+import com.student.event.StudentChangedEvent;
 import com.student.model.Student;
 import com.student.repository.StudentRepository;
+import com.student.repository.StudentSpecifications;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
+@Timed(value = "student.service", histogram = true)
 public class StudentService {
 
+    // Attributes a fields= list may name
+    private static final List<String> SELECTABLE_FIELDS = List.of("id", "name", "course", "fee", "email", "phone",
+            "address", "status", "version", "createdAt", "updatedAt");
+
     @Autowired
     private StudentRepository repo;
 
+    @Autowired
+    private StudentStatisticsAggregate statisticsAggregate;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private StudentUniquenessGuard uniquenessGuard;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private StudentMetrics metrics;
+
     // Get all students with pagination
+    @Transactional(readOnly = true)
     public Page<StudentDTO> getAllStudents(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) 
             ? Sort.by(sortBy).ascending() 
@@ -32,53 +76,63 @@ public class StudentService {
         return studentPage.map(StudentDTO::fromEntity);
     }
 
+    // Get a page of students with only the requested fields, selected as columns instead of loaded as entities
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getStudentFields(String fields, int page, int size, String sortBy, String sortDir) {
+        return repo.findFields(Specification.unrestricted(), parseFields(fields),
+                PageRequest.of(page, size, sort(sortBy, sortDir)));
+    }
+
+    // Get a slice of students after the given cursor (keyset pagination, no total count)
+    @Transactional(readOnly = true)
+    public CursorPage<StudentDTO> getStudentsAfter(String cursor, int size, String sortBy, String sortDir) {
+        StudentCursor position = cursor == null || cursor.isEmpty()
+                ? StudentCursor.first(sortBy, sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()))
+                : StudentCursor.decode(cursor);
+        return findSlice(Specification.unrestricted(), position, size);
+    }
+
     // Get all students (without pagination)
+    @Transactional(readOnly = true)
     public List<StudentDTO> getAllStudents() {
         return repo.findAll().stream()
                 .map(StudentDTO::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    // Get all students with only the requested fields
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllStudentFields(String fields) {
+        return repo.findFields(Specification.unrestricted(), parseFields(fields), Pageable.unpaged()).getContent();
+    }
+
     // Save new student
+    @Transactional
     public StudentDTO saveStudent(StudentDTO studentDTO) {
-        try {
-            System.out.println("Service: Attempting to save student: " + studentDTO.getName()); // Debug log
-            
-            // Check if email already exists
-            if (studentDTO.getEmail() != null && repo.findByEmail(studentDTO.getEmail()).isPresent()) {
-                System.out.println("Service: Email already exists: " + studentDTO.getEmail()); // Debug log
-                throw new RuntimeException("Email already exists: " + studentDTO.getEmail());
-            }
-            
-            // Check if phone already exists
-            if (studentDTO.getPhone() != null && repo.findByPhone(studentDTO.getPhone()).isPresent()) {
-                System.out.println("Service: Phone already exists: " + studentDTO.getPhone()); // Debug log
-                throw new RuntimeException("Phone number already exists: " + studentDTO.getPhone());
-            }
-            
-            Student student = studentDTO.toEntity();
-            System.out.println("Service: Converting DTO to entity: " + student.getName()); // Debug log
-            
-            Student savedStudent = repo.save(student);
-            System.out.println("Service: Student saved successfully with ID: " + savedStudent.getId()); // Debug log
-            
-            return StudentDTO.fromEntity(savedStudent);
-        } catch (Exception e) {
-            System.err.println("Service: Error saving student: " + e.getMessage()); // Debug log
-            e.printStackTrace();
-            throw e;
-        }
+        // Check email and phone are free (in memory, the database is only asked about likely duplicates)
+        uniquenessGuard.reserve(null, studentDTO.getEmail(), studentDTO.getPhone());
+        
+        // Flush so a unique-constraint violation surfaces here rather than at commit
+        Student savedStudent = repo.saveAndFlush(studentDTO.toEntity());
+        log.debug("Saved student with id {}", savedStudent.getId());
+        
+        StudentDTO saved = StudentDTO.fromEntity(savedStudent);
+        events.publishEvent(StudentChangedEvent.created(saved));
+        return saved;
     }
 
     // Delete student
+    @Transactional
     public void deleteStudent(Long id) {
-        if (!repo.existsById(id)) {
-            throw new RuntimeException("Student not found with id: " + id);
-        }
-        repo.deleteById(id);
+        Student student = repo.findById(id)
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+        StudentDTO before = StudentDTO.fromEntity(student);
+        repo.delete(student);
+        events.publishEvent(StudentChangedEvent.deleted(before));
     }
 
     // Get student by ID
+    @Transactional(readOnly = true)
     public StudentDTO getStudent(Long id) {
         Student student = repo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
@@ -86,47 +140,74 @@ public class StudentService {
     }
 
     // Update student
+    @Transactional
     public StudentDTO updateStudent(Long id, StudentDTO studentDTO) {
         Student existing = repo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
         
-        // Check if email is being changed and if it already exists
-        if (studentDTO.getEmail() != null && !studentDTO.getEmail().equals(existing.getEmail())) {
-            Optional<Student> existingWithEmail = repo.findByEmail(studentDTO.getEmail());
-            if (existingWithEmail.isPresent()) {
-                throw new RuntimeException("Email already exists: " + studentDTO.getEmail());
-            }
-        }
-        
-        // Check if phone is being changed and if it already exists
-        if (studentDTO.getPhone() != null && !studentDTO.getPhone().equals(existing.getPhone())) {
-            Optional<Student> existingWithPhone = repo.findByPhone(studentDTO.getPhone());
-            if (existingWithPhone.isPresent()) {
-                throw new RuntimeException("Phone number already exists: " + studentDTO.getPhone());
-            }
-        }
+        // Check a changed email or phone is free
+        uniquenessGuard.reserve(id,
+                studentDTO.getEmail() != null && !studentDTO.getEmail().equals(existing.getEmail()) ? studentDTO.getEmail() : null,
+                studentDTO.getPhone() != null && !studentDTO.getPhone().equals(existing.getPhone()) ? studentDTO.getPhone() : null);
         
         // Update fields
-        if (studentDTO.getName() != null) existing.setName(studentDTO.getName());
-        if (studentDTO.getCourse() != null) existing.setCourse(studentDTO.getCourse());
-        if (studentDTO.getFee() != null) existing.setFee(studentDTO.getFee());
-        if (studentDTO.getEmail() != null) existing.setEmail(studentDTO.getEmail());
-        if (studentDTO.getPhone() != null) existing.setPhone(studentDTO.getPhone());
-        if (studentDTO.getAddress() != null) existing.setAddress(studentDTO.getAddress());
-        if (studentDTO.getStatus() != null) existing.setStatus(studentDTO.getStatus());
+        StudentDTO before = StudentDTO.fromEntity(existing);
+        studentDTO.applyTo(existing);
         
-        Student updatedStudent = repo.save(existing);
-        return StudentDTO.fromEntity(updatedStudent);
+        Student updatedStudent = repo.saveAndFlush(existing);
+        StudentDTO after = StudentDTO.fromEntity(updatedStudent);
+        events.publishEvent(StudentChangedEvent.updated(before, after));
+        return after;
     }
 
-    // Search students by name
-    public List<StudentDTO> searchByName(String name) {
-        return repo.findByNameContainingIgnoreCase(name).stream()
-                .map(StudentDTO::fromEntity)
-                .collect(Collectors.toList());
+    // Update only the given fields. @DynamicUpdate and @Version turn the flush into one
+    // UPDATE ... SET <changed columns> WHERE id = ? AND version = ?, and the load is normally a
+    // second-level cache hit. A null expected version means "whatever is current".
+    @Transactional
+    public StudentDTO patchStudent(Long id, Long expectedVersion, StudentDTO changes) {
+        Student existing = repo.findById(id)
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            // The cached copy can lag a concurrent commit by a moment, ask the database before refusing
+            entityManager.refresh(existing);
+            if (!expectedVersion.equals(existing.getVersion())) {
+                throw new OptimisticLockingFailureException("Student " + id + " was modified concurrently, current version is "
+                        + existing.getVersion());
+            }
+        }
+
+        StudentDTO before = StudentDTO.fromEntity(existing);
+        uniquenessGuard.reserve(id,
+                changes.getEmail() != null && !changes.getEmail().equals(before.getEmail()) ? changes.getEmail() : null,
+                changes.getPhone() != null && !changes.getPhone().equals(before.getPhone()) ? changes.getPhone() : null);
+
+        changes.applyTo(existing);
+        Set<ConstraintViolation<Student>> violations = validator.validate(existing);
+        if (!violations.isEmpty()) {
+            metrics.rejected(StudentMetrics.SOURCE_API, StudentMetrics.REASON_VALIDATION);
+            throw new ConstraintViolationException(violations);
+        }
+
+        // A writer that committed after our read makes this throw ObjectOptimisticLockingFailureException
+        Student patchedStudent = repo.saveAndFlush(existing);
+        StudentDTO after = StudentDTO.fromEntity(patchedStudent);
+        if (!after.getVersion().equals(before.getVersion())) {
+            events.publishEvent(StudentChangedEvent.updated(before, after));
+        }
+        return after;
+    }
+
+    // Search students by name, ranked by relevance
+    @Cacheable(cacheNames = StudentCacheInvalidator.BY_NAME, key = "@studentCacheInvalidator.nameKey(#name, #page, #size)")
+    @Transactional(readOnly = true)
+    public Page<StudentDTO> searchByName(String name, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return repo.searchByNameRanked(StudentSpecifications.escapeLike(name), name, pageable).map(StudentDTO::fromEntity);
     }
 
     // Get students by course
+    @Cacheable(cacheNames = StudentCacheInvalidator.BY_COURSE, key = "@studentCacheInvalidator.courseKey(#course)")
+    @Transactional(readOnly = true)
     public List<StudentDTO> getByCourse(String course) {
         return repo.findByCourse(course).stream()
                 .map(StudentDTO::fromEntity)
@@ -134,6 +215,8 @@ public class StudentService {
     }
 
     // Get students by status
+    @Cacheable(cacheNames = StudentCacheInvalidator.BY_STATUS, key = "@studentCacheInvalidator.statusKey(#status)")
+    @Transactional(readOnly = true)
     public List<StudentDTO> getByStatus(Student.StudentStatus status) {
         return repo.findByStatus(status).stream()
                 .map(StudentDTO::fromEntity)
@@ -141,21 +224,97 @@ public class StudentService {
     }
 
     // Search with multiple criteria
+    @Transactional(readOnly = true)
     public Page<StudentDTO> searchByCriteria(String name, String course, Student.StudentStatus status, 
                                            int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Student> studentPage = repo.findByCriteria(name, course, status, pageable);
+        return searchByCriteria(StudentSearchCriteria.of(name, course, status), page, size, "id", "asc");
+    }
+
+    // Search with any combination of filters, only the ones given become predicates
+    @Transactional(readOnly = true)
+    public Page<StudentDTO> searchByCriteria(StudentSearchCriteria criteria, int page, int size,
+                                             String sortBy, String sortDir) {
+        Pageable pageable = PageRequest.of(page, size, sort(sortBy, sortDir));
+        Page<Student> studentPage = repo.findAll(StudentSpecifications.matching(criteria), pageable);
         return studentPage.map(StudentDTO::fromEntity);
     }
 
-    // Get statistics
+    // Search with multiple criteria, selecting only the requested fields
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> searchFieldsByCriteria(String fields, StudentSearchCriteria criteria,
+                                                           int page, int size, String sortBy, String sortDir) {
+        return repo.findFields(StudentSpecifications.matching(criteria), parseFields(fields),
+                PageRequest.of(page, size, sort(sortBy, sortDir)));
+    }
+
+    private static Sort sort(String sortBy, String sortDir) {
+        if (!SELECTABLE_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Cannot sort by '" + sortBy + "', choose from " + SELECTABLE_FIELDS);
+        }
+        return sortDir.equalsIgnoreCase(Sort.Direction.ASC.name())
+            ? Sort.by(sortBy).ascending()
+            : Sort.by(sortBy).descending();
+    }
+
+    // Split a comma-separated fields= list, dropping repeats and rejecting unknown names
+    private static List<String> parseFields(String fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!SELECTABLE_FIELDS.contains(trimmed)) {
+                throw new IllegalArgumentException("Unknown field '" + trimmed + "', choose from " + SELECTABLE_FIELDS);
+            }
+            selected.add(trimmed);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        return new ArrayList<>(selected);
+    }
+
+    // Search with multiple criteria using keyset pagination
+    @Transactional(readOnly = true)
+    public CursorPage<StudentDTO> searchByCriteriaAfter(StudentSearchCriteria criteria, String cursor, int size) {
+        StudentCursor position = cursor == null || cursor.isEmpty()
+                ? StudentCursor.first("id", true)
+                : StudentCursor.decode(cursor);
+        return findSlice(StudentSpecifications.matching(criteria), position, size);
+    }
+
+    private CursorPage<StudentDTO> findSlice(Specification<Student> spec, StudentCursor position, int size) {
+        int limit = Math.max(size, 1);
+        // Fetch one extra row to know whether another slice exists without counting
+        List<Student> rows = repo.findSliceAfter(spec, position.getSortBy(), position.isAscending(),
+                position.getLastValue(), position.getLastId(), limit + 1);
+
+        boolean hasNext = rows.size() > limit;
+        List<Student> slice = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? position.after(slice.get(slice.size() - 1)).encode() : null;
+
+        List<StudentDTO> content = slice.stream()
+                .map(StudentDTO::fromEntity)
+                .collect(Collectors.toList());
+        return new CursorPage<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    // Get statistics, served from the in-memory aggregate once it has been loaded
+    @Transactional(readOnly = true)
     public StudentStatistics getStatistics() {
+        StudentStatistics snapshot = statisticsAggregate.snapshot();
+        if (snapshot != null) {
+            return snapshot;
+        }
+
         long totalStudents = repo.count();
         long activeStudents = repo.countByStatus(Student.StudentStatus.ACTIVE);
         Double totalFee = repo.getTotalFeeCollected();
         Double averageFee = repo.getAverageFee();
         
-        return new StudentStatistics(totalStudents, activeStudents, totalFee, averageFee);
+        return new StudentStatistics(totalStudents, activeStudents, totalFee, averageFee,
+                new LinkedHashMap<>(), new LinkedHashMap<>());
     }
 
     // Statistics class
@@ -164,12 +323,17 @@ public class StudentService {
         private long activeStudents;
         private Double totalFee;
         private Double averageFee;
+        private Map<String, Breakdown> byStatus;
+        private Map<String, Breakdown> byCourse;
 
-        public StudentStatistics(long totalStudents, long activeStudents, Double totalFee, Double averageFee) {
+        public StudentStatistics(long totalStudents, long activeStudents, Double totalFee, Double averageFee,
+                                 Map<String, Breakdown> byStatus, Map<String, Breakdown> byCourse) {
             this.totalStudents = totalStudents;
             this.activeStudents = activeStudents;
             this.totalFee = totalFee;
             this.averageFee = averageFee;
+            this.byStatus = byStatus;
+            this.byCourse = byCourse;
         }
 
         // Getters
@@ -177,5 +341,22 @@ public class StudentService {
         public long getActiveStudents() { return activeStudents; }
         public Double getTotalFee() { return totalFee; }
         public Double getAverageFee() { return averageFee; }
+        public Map<String, Breakdown> getByStatus() { return byStatus; }
+        public Map<String, Breakdown> getByCourse() { return byCourse; }
+    }
+
+    // Count and fee total for one status or course
+    public static class Breakdown {
+        private long count;
+        private double totalFee;
+
+        public Breakdown(long count, double totalFee) {
+            this.count = count;
+            this.totalFee = totalFee;
+        }
+
+        // Getters
+        public long getCount() { return count; }
+        public double getTotalFee() { return totalFee; }
     }
 }
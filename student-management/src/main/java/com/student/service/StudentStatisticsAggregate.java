@@ -0,0 +1,227 @@
+package com.student.service;
+
+import com.student.dto.StudentDTO;
+import com.student.event.StudentChangedEvent;
+import com.student.model.Student;
+import com.student.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// In-memory statistics built once at startup, kept current from committed student changes
+// and periodically reconciled against the database
+@Slf4j
+@Component
+public class StudentStatisticsAggregate {
+
+    // Attempts to find a quiet window before a reconcile gives up and keeps the current state
+    private static final int RECONCILE_ATTEMPTS = 5;
+    // Pause before the next attempt, multiplied by the attempt number
+    private static final long RECONCILE_BACKOFF_MS = 20;
+
+    @Autowired
+    private StudentRepository repo;
+
+    private final Map<Student.StudentStatus, Bucket> byStatus = new EnumMap<>(Student.StudentStatus.class);
+    private final Map<String, Bucket> byCourse = new HashMap<>();
+    private final Bucket total = new Bucket();
+
+    // Bumped on every applied change, lets a reconcile detect writes that raced with its query
+    private long changes;
+    // Changes whose transaction is committing or committed but not yet applied here. The reconcile
+    // query may already see them, so a reconcile is not applied while any are pending.
+    private final Set<StudentChangedEvent> inFlight = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean loaded;
+
+    // Rebuilt lazily after a change so steady-state reads are a single volatile read
+    private volatile StudentService.StudentStatistics cached;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${student.statistics.reconcile-interval-ms:300000}",
+               fixedDelayString = "${student.statistics.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    // Replace the aggregate with a fresh GROUP BY over the students table, only when no change was
+    // applied during the query and none is in flight. Returns false if no such window was found.
+    public boolean reconcile() {
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            if (attempt > 1) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(RECONCILE_BACKOFF_MS * attempt));
+            }
+            long seen;
+            synchronized (this) {
+                seen = changes;
+            }
+
+            List<Object[]> rows = repo.aggregateByStatusAndCourse();
+
+            synchronized (this) {
+                if (changes != seen || !inFlight.isEmpty()) {
+                    continue;
+                }
+                byStatus.clear();
+                byCourse.clear();
+                total.reset();
+                for (Object[] row : rows) {
+                    Student.StudentStatus status = (Student.StudentStatus) row[0];
+                    String course = (String) row[1];
+                    long count = ((Number) row[2]).longValue();
+                    double fee = row[3] != null ? ((Number) row[3]).doubleValue() : 0.0;
+                    apply(status, course, count, fee);
+                }
+                loaded = true;
+                cached = null;
+                return true;
+            }
+        }
+        log.warn("Statistics reconcile found no quiet window in {} attempts, keeping the current state", RECONCILE_ATTEMPTS);
+        return false;
+    }
+
+    // Marks the change in flight until it is applied, or dropped if its transaction does not commit
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onStudentChanging(StudentChangedEvent event) {
+        synchronized (this) {
+            inFlight.add(event);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    synchronized (StudentStatisticsAggregate.this) {
+                        inFlight.remove(event);
+                    }
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getType() == StudentChangedEvent.Type.BULK) {
+            synchronized (this) {
+                inFlight.remove(event);
+            }
+            // The deltas are unknown, serve statistics from the database until a reconcile succeeds
+            if (!reconcile()) {
+                synchronized (this) {
+                    loaded = false;
+                    cached = null;
+                }
+            }
+            return;
+        }
+        synchronized (this) {
+            switch (event.getType()) {
+                case CREATED:
+                    add(event.getAfter(), 1);
+                    break;
+                case UPDATED:
+                    add(event.getBefore(), -1);
+                    add(event.getAfter(), 1);
+                    break;
+                case DELETED:
+                    add(event.getBefore(), -1);
+                    break;
+                default:
+            }
+            inFlight.remove(event);
+        }
+    }
+
+    // Current statistics, or null until the initial load has finished
+    public StudentService.StudentStatistics snapshot() {
+        StudentService.StudentStatistics statistics = cached;
+        if (statistics != null) {
+            return statistics;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                return null;
+            }
+            if (cached == null) {
+                cached = build();
+            }
+            return cached;
+        }
+    }
+
+    private synchronized void add(StudentDTO student, int sign) {
+        double fee = student.getFee() != null ? student.getFee() : 0.0;
+        apply(student.getStatus(), student.getCourse(), sign, sign * fee);
+        changes++;
+        cached = null;
+    }
+
+    private void apply(Student.StudentStatus status, String course, long count, double fee) {
+        total.add(count, fee);
+        if (status != null) {
+            byStatus.computeIfAbsent(status, s -> new Bucket()).add(count, fee);
+        }
+        if (course != null) {
+            Bucket bucket = byCourse.computeIfAbsent(course, c -> new Bucket());
+            bucket.add(count, fee);
+            if (bucket.count <= 0) {
+                byCourse.remove(course);
+            }
+        }
+    }
+
+    private StudentService.StudentStatistics build() {
+        Bucket active = byStatus.getOrDefault(Student.StudentStatus.ACTIVE, new Bucket());
+
+        Map<String, StudentService.Breakdown> statuses = new LinkedHashMap<>();
+        for (Student.StudentStatus status : Student.StudentStatus.values()) {
+            Bucket bucket = byStatus.getOrDefault(status, new Bucket());
+            statuses.put(status.name(), new StudentService.Breakdown(bucket.count, bucket.fee));
+        }
+
+        Map<String, StudentService.Breakdown> courses = new TreeMap<>();
+        byCourse.forEach((course, bucket) -> courses.put(course, new StudentService.Breakdown(bucket.count, bucket.fee)));
+
+        // Mirror SUM/AVG semantics: null when there are no rows to aggregate
+        Double totalFee = active.count > 0 ? active.fee : null;
+        Double averageFee = total.count > 0 ? total.fee / total.count : null;
+        return new StudentService.StudentStatistics(total.count, active.count, totalFee, averageFee, statuses, courses);
+    }
+
+    private static class Bucket {
+        private long count;
+        private double fee;
+
+        void add(long count, double fee) {
+            this.count += count;
+            this.fee += fee;
+        }
+
+        void reset() {
+            count = 0;
+            fee = 0.0;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.student.service;
+
+import com.student.dto.StudentDTO;
+import com.student.event.StudentChangedEvent;
+import com.student.exception.DuplicateStudentException;
+import com.student.model.Student;
+import com.student.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// In-memory sets of every taken email and phone number, so single-student writes only hit the
+// database when a value looks taken. A value missing from the set is free; one in the set is
+// confirmed with a SELECT because deletes can leave it stale. Values written by open transactions
+// are reserved until they complete, so two concurrent writers cannot both pass the check. The
+// unique constraints stay the final arbiter for anything written outside the application.
+@Component
+public class StudentUniquenessGuard {
+
+    @Autowired
+    private StudentRepository repo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Autowired
+    private StudentMetrics metrics;
+
+    private volatile Values committed = new Values();
+
+    // False until the first load has finished, every check goes to the database until then
+    private volatile boolean loaded;
+
+    private final Map<String, Object> reservedEmails = new ConcurrentHashMap<>();
+    private final Map<String, Object> reservedPhones = new ConcurrentHashMap<>();
+
+    // A lock rather than a monitor: the reload does JDBC I/O and may run on a virtual thread
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // Changes committed while a reload is streaming the table, replayed onto the new sets
+    private List<StudentDTO[]> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getType() == StudentChangedEvent.Type.BULK) {
+            taskExecutor.execute(this::reload);
+        } else {
+            apply(event.getBefore(), event.getAfter());
+        }
+    }
+
+    // Reserve email and phone for the current transaction, or throw if either belongs to another
+    // student. ownerId is the student being updated (null on create); null values are skipped.
+    public void reserve(Long ownerId, String email, String phone) {
+        if (email != null) {
+            reserve(reservedEmails, email, "Email already exists: " + email, StudentMetrics.REASON_DUPLICATE_EMAIL);
+            if (isTaken(committed.emails, email, ownerId, repo::findByEmail)) {
+                reject("Email already exists: " + email, StudentMetrics.REASON_DUPLICATE_EMAIL);
+            }
+        }
+        if (phone != null) {
+            reserve(reservedPhones, phone, "Phone number already exists: " + phone, StudentMetrics.REASON_DUPLICATE_PHONE);
+            if (isTaken(committed.phones, phone, ownerId, repo::findByPhone)) {
+                reject("Phone number already exists: " + phone, StudentMetrics.REASON_DUPLICATE_PHONE);
+            }
+        }
+    }
+
+    // Reserve email and phone for the current transaction without looking at the database, for batch
+    // writes that look the owners up for all items at once afterwards. Returns the rejection reason
+    // (StudentMetrics.REASON_*) if another open transaction holds either value, null if both are now reserved.
+    public String tryReserve(String email, String phone) {
+        Object emailToken = email != null ? tryReserve(reservedEmails, email) : null;
+        if (email != null && emailToken == null) {
+            return StudentMetrics.REASON_DUPLICATE_EMAIL;
+        }
+        if (phone != null && tryReserve(reservedPhones, phone) == null) {
+            if (emailToken != null) {
+                // The item fails, so its email is free for other writers again
+                reservedEmails.remove(email, emailToken);
+            }
+            return StudentMetrics.REASON_DUPLICATE_PHONE;
+        }
+        return null;
+    }
+
+    // Reload both sets from the database, then swap them in
+    public void reload() {
+        reloadLock.lock();
+        try {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+
+            Values fresh = new Values();
+            // Not read-only: that could route to a lagging replica and lose changes committed before pendingChanges was set
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = repo.streamEmailsAndPhones()) {
+                    rows.forEach(row -> fresh.add((String) row[0], (String) row[1]));
+                }
+            });
+
+            synchronized (this) {
+                for (StudentDTO[] change : pendingChanges) {
+                    fresh.apply(change[0], change[1]);
+                }
+                pendingChanges = null;
+                committed = fresh;
+                loaded = true;
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private synchronized void apply(StudentDTO before, StudentDTO after) {
+        committed.apply(before, after);
+        if (pendingChanges != null) {
+            pendingChanges.add(new StudentDTO[] { before, after });
+        }
+    }
+
+    // Claim the value until the surrounding transaction completes
+    private void reserve(Map<String, Object> reserved, String value, String message, String reason) {
+        if (tryReserve(reserved, value) == null) {
+            reject(message, reason);
+        }
+    }
+
+    // The claim's token, or null if another transaction holds the value
+    private Object tryReserve(Map<String, Object> reserved, String value) {
+        Object token = new Object();
+        if (reserved.putIfAbsent(value, token) != null) {
+            return null;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reserved.remove(value, token);
+            return token;
+        }
+        // afterCommit listeners (which add the value to the committed set) run before this
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                reserved.remove(value, token);
+            }
+        });
+        return token;
+    }
+
+    // Only values the set knows about (or everything, before the first load) cost a query
+    private boolean isTaken(Set<String> values, String value, Long ownerId, Function<String, Optional<Student>> lookup) {
+        if (loaded && !values.contains(value)) {
+            return false;
+        }
+        return lookup.apply(value)
+                .map(owner -> !Objects.equals(owner.getId(), ownerId))
+                .orElse(false);
+    }
+
+    private void reject(String message, String reason) {
+        metrics.rejected(StudentMetrics.SOURCE_API, reason);
+        throw new DuplicateStudentException(message);
+    }
+
+    private static final class Values {
+        private final Set<String> emails = ConcurrentHashMap.newKeySet();
+        private final Set<String> phones = ConcurrentHashMap.newKeySet();
+
+        void add(String email, String phone) {
+            if (email != null) emails.add(email);
+            if (phone != null) phones.add(phone);
+        }
+
+        void apply(StudentDTO before, StudentDTO after) {
+            if (before != null) {
+                if (before.getEmail() != null && (after == null || !before.getEmail().equals(after.getEmail()))) {
+                    emails.remove(before.getEmail());
+                }
+                if (before.getPhone() != null && (after == null || !before.getPhone().equals(after.getPhone()))) {
+                    phones.remove(before.getPhone());
+                }
+            }
+            if (after != null) {
+                add(after.getEmail(), after.getPhone());
+            }
+        }
+    }
+}
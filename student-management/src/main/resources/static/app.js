@@ -2,6 +2,8 @@
 
 // API Base URL
 const API_BASE_URL = '/api/students';
+// Columns the table shows, the list requests select only these
+const GRID_FIELDS = 'id,name,course,fee,email,phone,status';
 
 // Global variables
 let currentPage = 0;
@@ -61,10 +63,10 @@ async function loadStudents() {
         const courseFilter = document.getElementById('courseFilter').value;
         const statusFilter = document.getElementById('statusFilter').value;
         
-        let url = `${API_BASE_URL}?page=${currentPage}&size=${currentPageSize}&sortBy=${currentSortBy}&sortDir=${currentSortDir}`;
+        let url = `${API_BASE_URL}?fields=${GRID_FIELDS}&page=${currentPage}&size=${currentPageSize}&sortBy=${currentSortBy}&sortDir=${currentSortDir}`;
         
         if (searchName || courseFilter || statusFilter) {
-            url = `${API_BASE_URL}/search?page=${currentPage}&size=${currentPageSize}`;
+            url = `${API_BASE_URL}/search?fields=${GRID_FIELDS}&page=${currentPage}&size=${currentPageSize}`;
             if (searchName) url += `&name=${encodeURIComponent(searchName)}`;
             if (courseFilter) url += `&course=${encodeURIComponent(courseFilter)}`;
             if (statusFilter) url += `&status=${encodeURIComponent(statusFilter)}`;
@@ -326,7 +328,7 @@ async function showStatistics() {
 // Load course options for filter
 async function loadCourseOptions() {
     try {
-        const response = await fetch(`${API_BASE_URL}/all`);
+        const response = await fetch(`${API_BASE_URL}/all?fields=course`);
         const result = await response.json();
         
         if (result.success) {
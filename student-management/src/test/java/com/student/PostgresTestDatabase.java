@@ -0,0 +1,94 @@
+package com.student;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Collectors;
+
+// Postgres for tests of Postgres-only behaviour (COPY import, triggers). Uses the scratch database given
+// with -Dstudent.test.postgres.url (and .username / .password) or else a Testcontainers container.
+// Tests using it are skipped when neither is available: annotate them with
+// @EnabledIf("com.student.PostgresTestDatabase#isAvailable").
+public final class PostgresTestDatabase {
+
+    private static final String URL_PROPERTY = "student.test.postgres.url";
+    private static final String SETUP_SCRIPT = "database-setup.sql";
+
+    private static PostgreSQLContainer<?> container;
+
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private PostgresTestDatabase(String url, String username, String password) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    public static boolean isAvailable() {
+        return System.getProperty(URL_PROPERTY) != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    // The database with its public schema rebuilt from database-setup.sql
+    public static synchronized PostgresTestDatabase fresh() {
+        PostgresTestDatabase database = System.getProperty(URL_PROPERTY) != null
+                ? new PostgresTestDatabase(System.getProperty(URL_PROPERTY),
+                        System.getProperty("student.test.postgres.username", "postgres"),
+                        System.getProperty("student.test.postgres.password", ""))
+                : started();
+        database.reset();
+        return database;
+    }
+
+    private static PostgresTestDatabase started() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+        }
+        return new PostgresTestDatabase(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    // Point the application at this database, with the schema from the setup script as in production
+    public void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> username);
+        registry.add("spring.datasource.password", () -> password);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+    }
+
+    public Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    private void reset() {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA public CASCADE");
+            statement.execute("CREATE SCHEMA public");
+            statement.execute(setupScript());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot set up the test database at " + url, e);
+        }
+    }
+
+    // The setup script without psql meta-commands and the grants to the production role
+    private static String setupScript() {
+        try {
+            return Files.readAllLines(Path.of(SETUP_SCRIPT)).stream()
+                    .filter(line -> !line.startsWith("\\") && !line.startsWith("GRANT "))
+                    .collect(Collectors.joining("\n"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.student.controller;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Log levels can be switched at runtime, but only with the admin credentials; the rest of the API stays open
+@SpringBootTest(properties = {
+        "spring.security.user.name=ops",
+        "spring.security.user.password=loggers-secret"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoggersEndpointSecurityTest {
+
+    private static final String LOGGER = "com.student.loggers-endpoint-test";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void anonymousAndWrongCredentialsAreRefused() throws Exception {
+        mockMvc.perform(get("/actuator/loggers")).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/loggers/" + LOGGER)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"configuredLevel\":\"DEBUG\"}"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/loggers").with(httpBasic("ops", "wrong")))
+                .andExpect(status().isUnauthorized());
+
+        // Everything else is unchanged
+        mockMvc.perform(get("/actuator/info")).andExpect(status().isOk());
+    }
+
+    @Test
+    void adminChangesALevelAtRuntime() throws Exception {
+        mockMvc.perform(post("/actuator/loggers/" + LOGGER)
+                        .with(httpBasic("ops", "loggers-secret"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"configuredLevel\":\"DEBUG\"}"))
+                .andExpect(status().isNoContent());
+
+        assertTrue(LoggerFactory.getLogger(LOGGER).isDebugEnabled());
+    }
+}
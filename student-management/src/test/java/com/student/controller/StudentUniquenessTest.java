@@ -0,0 +1,104 @@
+package com.student.controller;
+
+import com.student.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Concurrent creates sharing an email or a phone: exactly one wins per value, the rest get 409
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentUniquenessTest {
+
+    private static final int VALUES = 4;
+    private static final int CONTENDERS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository repo;
+
+    @Test
+    void oneCreatePerEmail() throws Exception {
+        List<Map<Integer, Long>> statuses = race(n -> body("Email Race",
+                "email" + n / CONTENDERS + "@race.example.com",
+                String.format("+1777%06d", n)));
+
+        for (int v = 0; v < VALUES; v++) {
+            assertEquals(Map.of(201, 1L, 409, (long) CONTENDERS - 1), statuses.get(v));
+        }
+        assertEquals(VALUES, repo.findByCourse("Email Race").size());
+    }
+
+    @Test
+    void oneCreatePerPhone() throws Exception {
+        List<Map<Integer, Long>> statuses = race(n -> body("Phone Race",
+                "phone" + n + "@race.example.com",
+                String.format("+1888%06d", n / CONTENDERS)));
+
+        for (int v = 0; v < VALUES; v++) {
+            assertEquals(Map.of(201, 1L, 409, (long) CONTENDERS - 1), statuses.get(v));
+        }
+        assertEquals(VALUES, repo.findByCourse("Phone Race").size());
+    }
+
+    // Posts VALUES * CONTENDERS creates at once, request n contending for value n / CONTENDERS;
+    // returns the count of each response status per value
+    private List<Map<Integer, Long>> race(IntFunction<String> request) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> responses = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(VALUES * CONTENDERS);
+        try {
+            for (int n = 0; n < VALUES * CONTENDERS; n++) {
+                String body = request.apply(n);
+                Callable<Integer> create = () -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/students")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn().getResponse().getStatus();
+                };
+                responses.add(pool.submit(create));
+            }
+            start.countDown();
+
+            List<Map<Integer, Long>> statuses = new ArrayList<>();
+            for (int v = 0; v < VALUES; v++) {
+                List<Integer> codes = new ArrayList<>();
+                for (Future<Integer> response : responses.subList(v * CONTENDERS, (v + 1) * CONTENDERS)) {
+                    codes.add(response.get(1, TimeUnit.MINUTES));
+                }
+                statuses.add(codes.stream().collect(Collectors.groupingBy(code -> code, Collectors.counting())));
+            }
+            return statuses;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static String body(String course, String email, String phone) {
+        return "{\"name\":\"Race Student\",\"course\":\"" + course + "\",\"fee\":100.0,"
+                + "\"email\":\"" + email + "\",\"phone\":\"" + phone + "\",\"status\":\"ACTIVE\"}";
+    }
+}
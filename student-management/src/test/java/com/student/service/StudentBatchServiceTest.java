@@ -0,0 +1,226 @@
+package com.student.service;
+
+import com.student.dto.BatchItemResult;
+import com.student.dto.BatchResult;
+import com.student.dto.StudentDTO;
+import com.student.model.Student;
+import com.student.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Per-item results of the batch endpoints: each item succeeds or fails on its own, in request order
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentBatchServiceTest {
+
+    @Autowired
+    private StudentBatchService batchService;
+
+    @Autowired
+    private StudentService service;
+
+    @Autowired
+    private StudentRepository repo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void createReportsInvalidAndDuplicateItems() {
+        StudentDTO existing = service.saveStudent(student("Batch Existing", "existing@batch.example.com", "+1999000001"));
+
+        StudentDTO invalid = student("Batch Invalid", "invalid@batch.example.com", "+1999000003");
+        invalid.setName(null);
+        invalid.setFee(-5.0);
+
+        BatchResult result = batchService.createStudents(List.of(
+                student("Batch First", "first@batch.example.com", "+1999000002"),
+                invalid,
+                student("Batch Same Email", "first@batch.example.com", "+1999000004"),
+                student("Batch Same Phone", "other@batch.example.com", "+1999000002"),
+                student("Batch Taken Email", existing.getEmail(), "+1999000005"),
+                student("Batch Taken Phone", "taken@batch.example.com", existing.getPhone()),
+                student("Batch Last", "last@batch.example.com", "+1999000006")));
+
+        assertEquals(7, result.getTotal());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(5, result.getFailed());
+        assertOk(result, 0, "Created");
+        assertFailed(result, 1, "Validation failed: fee: Fee must be greater than 0, name: Name is required");
+        assertFailed(result, 2, "Duplicate email in batch: first@batch.example.com");
+        assertFailed(result, 3, "Duplicate phone number in batch: +1999000002");
+        assertFailed(result, 4, "Email already exists: existing@batch.example.com");
+        assertFailed(result, 5, "Phone number already exists: +1999000001");
+        assertOk(result, 6, "Created");
+
+        // Only the successful items were written, under the ids reported for them
+        assertEquals("Batch First", repo.findById(result.getResults().get(0).getId()).orElseThrow().getName());
+        assertEquals("Batch Last", repo.findById(result.getResults().get(6).getId()).orElseThrow().getName());
+        assertTrue(repo.findByEmail("other@batch.example.com").isEmpty());
+        assertTrue(repo.findByEmail("taken@batch.example.com").isEmpty());
+    }
+
+    // Values longer than their columns fail their own item instead of the batch's INSERT
+    @Test
+    void createReportsValuesLongerThanTheirColumns() {
+        StudentDTO longAddress = student("Batch Long Address", "address@batch.example.com", "+1999000021");
+        longAddress.setAddress("x".repeat(201));
+        StudentDTO longEmail = student("Batch Long Email", "long@" + "d".repeat(50) + "." + "d".repeat(50) + ".com", "+1999000022");
+        StudentDTO longPhone = student("Batch Long Phone", "phone@batch.example.com", "+123456789012345");
+
+        BatchResult result = batchService.createStudents(List.of(
+                longAddress, longEmail, longPhone,
+                student("Batch Fits", "fits@batch.example.com", "+1999000023")));
+
+        assertEquals(1, result.getSucceeded());
+        assertFailed(result, 0, "Validation failed: address: Address must be at most 200 characters");
+        assertFailed(result, 1, "Validation failed: email: Email must be at most 100 characters");
+        assertFailed(result, 2, "Validation failed: phone: Phone number must be at most 15 characters");
+        assertOk(result, 3, "Created");
+    }
+
+    @Test
+    void updateReportsMissingTakenAndUnknownItems() {
+        StudentDTO first = service.saveStudent(student("Update First", "first@update.example.com", "+1999100001"));
+        StudentDTO second = service.saveStudent(student("Update Second", "second@update.example.com", "+1999100002"));
+        StudentDTO third = service.saveStudent(student("Update Third", "third@update.example.com", "+1999100005"));
+
+        // Batch updates are full replacements, validated like PUT; its own email is not a conflict
+        StudentDTO renamed = student("Update Renamed", first.getEmail(), first.getPhone());
+        renamed.setId(first.getId());
+
+        StudentDTO noId = student("Update No Id", "noid@update.example.com", "+1999100003");
+
+        StudentDTO stealsEmail = student("Update Second", third.getEmail(), second.getPhone());
+        stealsEmail.setId(second.getId());
+
+        StudentDTO unknown = student("Update Unknown", "unknown@update.example.com", "+1999100004");
+        unknown.setId(Long.MAX_VALUE);
+
+        BatchResult result = batchService.updateStudents(List.of(renamed, noId, stealsEmail, unknown));
+
+        assertEquals(1, result.getSucceeded());
+        assertOk(result, 0, "Updated");
+        assertFailed(result, 1, "Id is required");
+        assertFailed(result, 2, "Email already exists: third@update.example.com");
+        assertFailed(result, 3, "Student not found with id: " + Long.MAX_VALUE);
+
+        assertEquals("Update Renamed", repo.findById(first.getId()).orElseThrow().getName());
+        assertEquals("second@update.example.com", repo.findById(second.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void deleteReportsUnknownAndRepeatedIds() {
+        StudentDTO student = service.saveStudent(student("Delete Me", "me@delete.example.com", "+1999200001"));
+
+        BatchResult result = batchService.deleteStudents(Arrays.asList(student.getId(), Long.MAX_VALUE, student.getId(), null));
+
+        assertEquals(1, result.getSucceeded());
+        assertOk(result, 0, "Deleted");
+        assertFailed(result, 1, "Student not found with id: " + Long.MAX_VALUE);
+        assertFailed(result, 2, "Duplicate id in batch: " + student.getId());
+        assertFailed(result, 3, "Student not found with id: null");
+        assertFalse(repo.existsById(student.getId()));
+    }
+
+    // A single create still in its transaction holds its email, so the batch fails that item instead of
+    // colliding at flush and rolling back everything
+    @Test
+    void createFailsItemsHeldByAnOpenSingleCreate() throws Exception {
+        CompletableFuture<Void> open = holdOpen(() ->
+                service.saveStudent(student("Race Single", "race@single.example.com", "+1999300001")));
+        try {
+            BatchResult result = batchService.createStudents(List.of(
+                    student("Race Batch Email", "race@single.example.com", "+1999300002"),
+                    student("Race Batch Other", "other@single.example.com", "+1999300003")));
+
+            assertEquals(1, result.getSucceeded());
+            assertFailed(result, 0, "Email already exists: race@single.example.com");
+            assertOk(result, 1, "Created");
+        } finally {
+            release.countDown();
+            open.get(30, TimeUnit.SECONDS);
+        }
+        assertEquals("Race Single", repo.findByEmail("race@single.example.com").orElseThrow().getName());
+    }
+
+    @Test
+    void concurrentBatchesFailOnlyTheCollidingItems() throws Exception {
+        CompletableFuture<Void> open = holdOpen(() -> batchService.createStudents(List.of(
+                student("Race First Batch", "first@race.example.com", "+1999300011"))));
+        try {
+            BatchResult result = batchService.createStudents(List.of(
+                    student("Race Second Batch", "second@race.example.com", "+1999300011"),
+                    student("Race Second Free", "free@race.example.com", "+1999300012")));
+
+            assertEquals(1, result.getSucceeded());
+            assertFailed(result, 0, "Phone number already exists: +1999300011");
+            assertOk(result, 1, "Created");
+        } finally {
+            release.countDown();
+            open.get(30, TimeUnit.SECONDS);
+        }
+        assertEquals("Race First Batch", repo.findByPhone("+1999300011").orElseThrow().getName());
+        // The failed item's email was not left reserved
+        assertEquals(1, batchService.createStudents(List.of(
+                student("Race Email Reused", "second@race.example.com", "+1999300013"))).getSucceeded());
+    }
+
+    // Runs the write on another thread in a transaction that stays open until release is counted down
+    private CompletableFuture<Void> holdOpen(Runnable write) throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CompletableFuture<Void> open = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    write.run();
+                    written.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertTrue(written.await(30, TimeUnit.SECONDS) || open.isDone(), "write did not run");
+        return open;
+    }
+
+    private static void assertOk(BatchResult result, int index, String message) {
+        BatchItemResult item = result.getResults().get(index);
+        assertEquals(index, item.getIndex());
+        assertTrue(item.isSuccess(), item.getMessage());
+        assertEquals(message, item.getMessage());
+    }
+
+    private static void assertFailed(BatchResult result, int index, String message) {
+        BatchItemResult item = result.getResults().get(index);
+        assertEquals(index, item.getIndex());
+        assertFalse(item.isSuccess());
+        assertEquals(message, item.getMessage());
+    }
+
+    private static StudentDTO student(String name, String email, String phone) {
+        StudentDTO dto = new StudentDTO();
+        dto.setName(name);
+        dto.setCourse("Batching");
+        dto.setFee(1500.0);
+        dto.setEmail(email);
+        dto.setPhone(phone);
+        dto.setStatus(Student.StudentStatus.ACTIVE);
+        return dto;
+    }
+}
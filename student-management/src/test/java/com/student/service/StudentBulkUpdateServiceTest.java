@@ -0,0 +1,54 @@
+package com.student.service;
+
+import com.student.dto.BulkUpdateRequest;
+import com.student.dto.StudentDTO;
+import com.student.model.Student;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentBulkUpdateServiceTest {
+
+    @Autowired
+    private StudentService service;
+
+    @Autowired
+    private StudentBulkUpdateService bulkService;
+
+    // LIKE wildcards in the name filter match themselves, not any character
+    @Test
+    void nameFilterMatchesWildcardsLiterally() {
+        service.saveStudent(student("Bulk Under_Score", 1));
+        service.saveStudent(student("Bulk UnderXScore", 2));
+        service.saveStudent(student("Bulk Full 100%", 3));
+        service.saveStudent(student("Bulk Full 1000", 4));
+
+        assertEquals(1, countMatching("under_score"));
+        assertEquals(1, countMatching("100%"));
+        assertEquals(4, countMatching("bulk "));
+    }
+
+    private long countMatching(String name) {
+        BulkUpdateRequest request = new BulkUpdateRequest();
+        request.setName(name);
+        request.setCourse("Bulk Wildcards");
+        request.setFeePercent(10.0);
+        return bulkService.adjustFees(request, true).getRows();
+    }
+
+    private static StudentDTO student(String name, int n) {
+        StudentDTO dto = new StudentDTO();
+        dto.setName(name);
+        dto.setCourse("Bulk Wildcards");
+        dto.setFee(1200.0);
+        dto.setEmail("bulk.wildcards" + n + "@example.com");
+        dto.setPhone("+1555000" + String.format("%03d", n));
+        dto.setStatus(Student.StudentStatus.ACTIVE);
+        return dto;
+    }
+}
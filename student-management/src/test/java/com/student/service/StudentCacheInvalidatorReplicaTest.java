@@ -0,0 +1,60 @@
+package com.student.service;
+
+import com.student.dto.StudentDTO;
+import com.student.event.StudentChangedEvent;
+import com.student.model.Student;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// With replicas, a student loaded into the second-level cache inside the lag window may be a replica's
+// older row; it must not outlive the window
+@SpringBootTest(properties = {
+        "student.datasource.replicas.enabled=true",
+        "student.datasource.replicas.read-your-writes-ms=200"
+})
+@ActiveProfiles("test")
+class StudentCacheInvalidatorReplicaTest {
+
+    @Autowired
+    private StudentService service;
+
+    @Autowired
+    private StudentCacheInvalidator invalidator;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void entitiesLoadedInTheLagWindowAreEvictedAfterIt() throws InterruptedException {
+        StudentDTO saved = service.saveStudent(student());
+
+        // A bulk update commits, then a read-only load within the window caches the row again
+        invalidator.onStudentChanged(StudentChangedEvent.bulk());
+        service.getStudent(saved.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Student.class, saved.getId()));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (entityManagerFactory.getCache().contains(Student.class, saved.getId())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertFalse(entityManagerFactory.getCache().contains(Student.class, saved.getId()));
+    }
+
+    private static StudentDTO student() {
+        StudentDTO dto = new StudentDTO();
+        dto.setName("Lagging Student");
+        dto.setCourse("Physics");
+        dto.setFee(1200.0);
+        dto.setEmail("lagging.student@example.com");
+        dto.setPhone("+1777000001");
+        dto.setStatus(Student.StudentStatus.ACTIVE);
+        return dto;
+    }
+}
@@ -0,0 +1,112 @@
+package com.student.service;
+
+import com.student.dto.StudentDTO;
+import com.student.model.Student;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentCacheInvalidatorTest {
+
+    @Autowired
+    private StudentService service;
+
+    @Autowired
+    private StudentCacheInvalidator invalidator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // A read that loaded its result before a commit and stores it after the commit's eviction
+    @Test
+    void resultLoadedBeforeCommitIsNotServedAfterIt() {
+        String course = "Cache Race";
+        String name = "Cache Racer";
+
+        // The reads compute their keys before querying, then query and see no students yet
+        List<Object> courseKey = invalidator.courseKey(course);
+        List<Object> statusKey = invalidator.statusKey(Student.StudentStatus.ACTIVE);
+        List<Object> nameKey = invalidator.nameKey(name, 0, 10);
+
+        StudentDTO saved = service.saveStudent(student(course, name, 1));
+
+        // ... and store their stale results once the change has been evicted
+        cacheManager.getCache(StudentCacheInvalidator.BY_COURSE).put(courseKey, List.of());
+        cacheManager.getCache(StudentCacheInvalidator.BY_STATUS).put(statusKey, List.of());
+        cacheManager.getCache(StudentCacheInvalidator.BY_NAME).put(nameKey, List.of());
+
+        assertEquals(List.of(saved.getId()), ids(service.getByCourse(course)));
+        assertEquals(1, service.getByStatus(Student.StudentStatus.ACTIVE).stream()
+                .filter(s -> s.getId().equals(saved.getId())).count());
+        // Name search ranks with pg_trgm, which H2 lacks: check the stale entry is out of the reads' reach
+        assertNotEquals(nameKey, invalidator.nameKey(name, 0, 10));
+        assertNull(cacheManager.getCache(StudentCacheInvalidator.BY_NAME).get(invalidator.nameKey(name, 0, 10)));
+    }
+
+    @Test
+    void unchangedKeysStayCached() {
+        String course = "Cache Quiet";
+        service.saveStudent(student(course, "Quiet Student", 2));
+        List<StudentDTO> cached = service.getByCourse(course);
+
+        service.saveStudent(student("Cache Elsewhere", "Loud Student", 3));
+
+        // Same instance: served from the cache, not reloaded
+        assertSame(cached, service.getByCourse(course));
+    }
+
+    // The keys of one transaction's changes move on once, after it commits, and not at all on rollback
+    @Test
+    void transactionInvalidatesItsChangesAfterCommit() {
+        List<Object> mathKey = invalidator.courseKey("Cache Batch Maths");
+        List<Object> artKey = invalidator.courseKey("Cache Batch Art");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            service.saveStudent(student("Cache Batch Maths", "Batch Mathematician", 4));
+            service.saveStudent(student("Cache Batch Art", "Batch Artist", 5));
+            // Not before the commit: a read in between would cache what is about to change
+            assertEquals(mathKey, invalidator.courseKey("Cache Batch Maths"));
+        });
+
+        assertNotEquals(mathKey, invalidator.courseKey("Cache Batch Maths"));
+        assertNotEquals(artKey, invalidator.courseKey("Cache Batch Art"));
+
+        List<Object> rolledBackKey = invalidator.courseKey("Cache Batch Rolled Back");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            service.saveStudent(student("Cache Batch Rolled Back", "Batch Undone", 6));
+            status.setRollbackOnly();
+        });
+        assertEquals(rolledBackKey, invalidator.courseKey("Cache Batch Rolled Back"));
+    }
+
+    private static List<Long> ids(List<StudentDTO> students) {
+        return students.stream().map(StudentDTO::getId).toList();
+    }
+
+    private static StudentDTO student(String course, String name, int n) {
+        StudentDTO dto = new StudentDTO();
+        dto.setName(name);
+        dto.setCourse(course);
+        dto.setFee(1200.0);
+        dto.setEmail(name.toLowerCase().replace(' ', '.') + "@example.com");
+        dto.setPhone("+1666" + String.format("%06d", n));
+        dto.setStatus(Student.StudentStatus.ACTIVE);
+        return dto;
+    }
+}
@@ -0,0 +1,61 @@
+package com.student.service;
+
+import com.student.PostgresTestDatabase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+// Writes made with plain SQL, as another instance or an import would, never reach the application's
+// change events; the table_changes trigger must still move the list ETag
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+@EnabledIf("com.student.PostgresTestDatabase#isAvailable")
+class StudentChangeTrackerPostgresTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.fresh().register(registry);
+    }
+
+    @Autowired
+    private StudentChangeTracker changeTracker;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void plainSqlWritesChangeTheEtag() {
+        String etag = changeTracker.etag();
+        jdbc.queryForList("SELECT * FROM students");
+        assertEquals(etag, changeTracker.etag());
+
+        jdbc.update("INSERT INTO students (name, course, fee, email, phone, status) " +
+                "VALUES ('Plain Insert', 'Physics', 1000, 'plain.insert@example.com', '+19990000001', 'ACTIVE')");
+        etag = assertChanged(etag);
+
+        jdbc.update("UPDATE students SET course = 'Chemistry' WHERE email = 'plain.insert@example.com'");
+        etag = assertChanged(etag);
+
+        jdbc.update("DELETE FROM students WHERE email = 'plain.insert@example.com'");
+        etag = assertChanged(etag);
+
+        jdbc.update("TRUNCATE students");
+        assertChanged(etag);
+    }
+
+    private String assertChanged(String before) {
+        String after = changeTracker.etag();
+        assertNotEquals(before, after);
+        return after;
+    }
+}
@@ -0,0 +1,72 @@
+package com.student.service;
+
+import com.student.dto.StudentDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+// H2 has no table_changes trigger: the application's own writes move the ETag through their change
+// events, and a count written to table_changes (as the trigger does on Postgres) moves it as well
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentChangeTrackerTest {
+
+    @Autowired
+    private StudentChangeTracker changeTracker;
+
+    @Autowired
+    private StudentService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void applicationWritesChangeTheEtag() {
+        String etag = changeTracker.etag();
+
+        StudentDTO saved = service.saveStudent(student());
+        etag = assertChanged(etag);
+
+        service.getStudent(saved.getId());
+        assertEquals(etag, changeTracker.etag());
+
+        saved.setCourse("Chemistry");
+        service.updateStudent(saved.getId(), saved);
+        etag = assertChanged(etag);
+
+        service.deleteStudent(saved.getId());
+        assertChanged(etag);
+    }
+
+    @Test
+    void countedTableChangesChangeTheEtag() {
+        jdbc.update("DELETE FROM table_changes");
+        jdbc.update("INSERT INTO table_changes (table_name, change_count) VALUES ('students', 1)");
+        String etag = changeTracker.etag();
+        assertEquals(etag, changeTracker.etag());
+
+        jdbc.update("UPDATE table_changes SET change_count = change_count + 1 WHERE table_name = 'students'");
+        assertChanged(etag);
+    }
+
+    private String assertChanged(String before) {
+        String after = changeTracker.etag();
+        assertNotEquals(before, after);
+        return after;
+    }
+
+    private static StudentDTO student() {
+        StudentDTO dto = new StudentDTO();
+        dto.setName("Tracked Student");
+        dto.setCourse("Physics");
+        dto.setFee(1000.0);
+        dto.setEmail("tracked.student@example.com");
+        dto.setPhone("+19990000002");
+        return dto;
+    }
+}
@@ -0,0 +1,128 @@
+package com.student.service;
+
+import com.student.dto.CursorPage;
+import com.student.dto.StudentDTO;
+import com.student.model.Student;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Keyset pages over a sort key that is null for some rows: every row is returned once, nulls sort highest
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentCursorPaginationTest {
+
+    @Autowired
+    private StudentService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void pagesThroughNullSortKeysInBothDirections() {
+        List<StudentDTO> saved = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            saved.add(service.saveStudent(student(i)));
+        }
+        // Rows loaded outside the application (COPY import, SQL) can lack created_at
+        for (int i : new int[] {1, 2, 5}) {
+            jdbc.update("UPDATE students SET created_at = NULL WHERE id = ?", saved.get(i).getId());
+        }
+        entityManagerFactory.getCache().evict(Student.class);
+
+        Set<Long> ids = saved.stream().map(StudentDTO::getId).collect(Collectors.toSet());
+        List<StudentDTO> rows = saved.stream().map(s -> service.getStudent(s.getId())).toList();
+        Comparator<StudentDTO> byCreatedAt = Comparator.comparing(StudentDTO::getCreatedAt,
+                Comparator.nullsLast(Comparator.naturalOrder()));
+
+        List<Long> ascending = rows.stream()
+                .sorted(byCreatedAt.thenComparing(StudentDTO::getId))
+                .map(StudentDTO::getId)
+                .toList();
+        List<Long> descending = rows.stream()
+                .sorted(byCreatedAt.thenComparing(StudentDTO::getId).reversed())
+                .map(StudentDTO::getId)
+                .toList();
+
+        // Pages of 2 end on a null key, between two null keys and between a value and a null key
+        assertEquals(ascending, pageThrough("createdAt", "asc", ids));
+        assertEquals(descending, pageThrough("createdAt", "desc", ids));
+    }
+
+    // fee is NOT NULL, so its pages seek on (fee, id) alone; ties on fee are broken by id
+    @Test
+    void pagesThroughTiesOfANotNullSortKey() {
+        List<StudentDTO> saved = new ArrayList<>();
+        for (int i = 10; i < 17; i++) {
+            saved.add(service.saveStudent(student(i)));
+        }
+        for (int i : new int[] {1, 2, 4, 5}) {
+            jdbc.update("UPDATE students SET fee = 1500 WHERE id = ?", saved.get(i).getId());
+        }
+        entityManagerFactory.getCache().evict(Student.class);
+
+        Set<Long> ids = saved.stream().map(StudentDTO::getId).collect(Collectors.toSet());
+        List<StudentDTO> rows = saved.stream().map(s -> service.getStudent(s.getId())).toList();
+        Comparator<StudentDTO> byFee = Comparator.comparing(StudentDTO::getFee).thenComparing(StudentDTO::getId);
+
+        assertEquals(rows.stream().sorted(byFee).map(StudentDTO::getId).toList(),
+                pageThrough("fee", "asc", ids));
+        assertEquals(rows.stream().sorted(byFee.reversed()).map(StudentDTO::getId).toList(),
+                pageThrough("fee", "desc", ids));
+    }
+
+    @Test
+    void nullSortKeyRoundTripsThroughTheToken() {
+        Student last = new Student();
+        last.setId(42L);
+        last.setName("null");
+
+        StudentCursor afterNull = StudentCursor.decode(StudentCursor.first("createdAt", true).after(last).encode());
+        StudentCursor afterText = StudentCursor.decode(StudentCursor.first("name", true).after(last).encode());
+
+        assertNull(afterNull.getLastValue());
+        assertEquals(42L, afterNull.getLastId());
+        assertEquals("null", afterText.getLastValue());
+    }
+
+    // The ids of this test's students in the order all the cursor pages returned them
+    private List<Long> pageThrough(String sortBy, String direction, Set<Long> ids) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<StudentDTO> page = service.getStudentsAfter(cursor, 2, sortBy, direction);
+            page.getContent().stream()
+                    .map(StudentDTO::getId)
+                    .filter(ids::contains)
+                    .forEach(seen::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private static StudentDTO student(int i) {
+        StudentDTO dto = new StudentDTO();
+        dto.setName("Cursor Student " + i);
+        dto.setCourse("Cursor Paging");
+        dto.setFee(1000.0 + i);
+        dto.setEmail("cursor" + i + "@paging.example.com");
+        dto.setPhone("+1998000" + String.format("%03d", i));
+        dto.setStatus(Student.StudentStatus.ACTIVE);
+        return dto;
+    }
+}
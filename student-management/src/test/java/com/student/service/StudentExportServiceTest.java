@@ -0,0 +1,76 @@
+package com.student.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Exports far more students than fit in the heap. Run by the boundedHeapTest task with a small
+// -Xmx: the export passes only if it streams. The database is on disk so its rows are not in the heap.
+@Tag("bounded-heap")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./build/tmp/bounded-heap/students;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;CACHE_SIZE=4096;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.hikari.maximum-pool-size=2"
+})
+@ActiveProfiles("test")
+class StudentExportServiceTest {
+
+    private static final int STUDENTS = 500_000;
+
+    @Autowired
+    private StudentExportService exportService;
+
+    @BeforeAll
+    static void seed(@Autowired JdbcTemplate jdbc) {
+        jdbc.execute("INSERT INTO students (id, name, course, fee, email, phone, address, status, version, created_at, updated_at) " +
+                "SELECT x, CONCAT('Export Student ', x), 'Course ' || MOD(x, 8), 1000 + MOD(x, 500), " +
+                "CONCAT('export', x, '@example.com'), CONCAT('+1', 5550000000 + x), " +
+                "CONCAT(x, ' Long Address Street, Some City, Some Region, 12345'), 'ACTIVE', 0, " +
+                "LOCALTIMESTAMP, LOCALTIMESTAMP FROM SYSTEM_RANGE(1, " + STUDENTS + ") AS r(x)");
+    }
+
+    @Test
+    void ndjsonExportStreamsEveryStudent() throws IOException {
+        LineCounter out = new LineCounter();
+
+        assertEquals(STUDENTS, exportService.exportStudents(StudentExportService.ExportFormat.NDJSON, out));
+        assertEquals(STUDENTS, out.lines);
+    }
+
+    @Test
+    void csvExportStreamsEveryStudent() throws IOException {
+        LineCounter out = new LineCounter();
+
+        assertEquals(STUDENTS, exportService.exportStudents(StudentExportService.ExportFormat.CSV, out));
+        // Plus the header
+        assertEquals(STUDENTS + 1, out.lines);
+    }
+
+    // Discards the export, keeping only its line count
+    private static class LineCounter extends OutputStream {
+
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.student.service;
+
+import com.student.PostgresTestDatabase;
+import com.student.dto.ImportJobStatus;
+import com.student.dto.RejectedRow;
+import com.student.dto.StudentDTO;
+import com.student.model.Student;
+import com.student.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+@EnabledIf("com.student.PostgresTestDatabase#isAvailable")
+class StudentImportServiceTest {
+
+    private static final String HEADER = "name,course,fee,email,phone,address,status\n";
+
+    private static PostgresTestDatabase database;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        database = PostgresTestDatabase.fresh();
+        database.register(registry);
+    }
+
+    @Autowired
+    private StudentImportService importService;
+
+    @Autowired
+    private StudentService service;
+
+    @Autowired
+    private StudentRepository repo;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void rejectsInvalidDuplicateAndTakenRowsAndInsertsTheRest() throws Exception {
+        // john.doe@email.com and +1234567891 belong to the sample students of database-setup.sql
+        ImportJobStatus status = runImport(HEADER +
+                "Import One,Physics,1200,import.one@example.com,+15550000001,,active\n" +
+                "Bad Fee,Physics,abc,bad.fee@example.com,+15550000002,,\n" +
+                ",Physics,1200,no.name@example.com,+15550000003,,\n" +
+                "Same Email,Physics,1200,import.one@example.com,+15550000004,,\n" +
+                "Taken Email,Physics,1200,john.doe@email.com,+15550000005,,\n" +
+                "Taken Phone,Physics,1200,taken.phone@example.com,+1234567891,,\n" +
+                "Bad Status,Physics,1200,bad.status@example.com,+15550000006,,enrolled\n" +
+                "Long Address,Physics,1200,long.address@example.com,+15550000008," + "x".repeat(201) + ",\n" +
+                "Import Two,Physics,1300,import.two@example.com,+15550000007,\"1 Main St, City\",GRADUATED\n");
+
+        assertEquals(ImportJobStatus.State.COMPLETED, status.getState(), status.getMessage());
+        assertEquals(9, status.getRowsRead());
+        assertEquals(2, status.getRowsInserted());
+        assertEquals(7, status.getRowsRejected());
+        assertEquals(Map.of(
+                3L, "Invalid fee: abc",
+                4L, "Validation failed: name: Name is required",
+                5L, "Duplicate email in file: import.one@example.com",
+                6L, "Email already exists: john.doe@email.com",
+                7L, "Phone number already exists: +1234567891",
+                8L, "Invalid status: enrolled",
+                9L, "Validation failed: address: Address must be at most 200 characters"), reasons(status));
+
+        Student two = repo.findByEmail("import.two@example.com").orElseThrow();
+        assertEquals("1 Main St, City", two.getAddress());
+        assertEquals(Student.StudentStatus.GRADUATED, two.getStatus());
+        assertTrue(repo.findByEmail("import.one@example.com").isPresent());
+    }
+
+    @Test
+    void keepsTheFirstOccurrenceOfEachEmailAndPhoneInTheFile() throws Exception {
+        ImportJobStatus status = runImport(HEADER +
+                "Dedupe One,Physics,1200,dedupe.one@example.com,+15551000001,,\n" +
+                "Dedupe Same Email,Physics,1200,dedupe.one@example.com,+15551000002,,\n" +
+                "Dedupe Two,Physics,1200,dedupe.two@example.com,+15551000002,,\n" +
+                "Dedupe Same Phone,Physics,1200,dedupe.three@example.com,+15551000001,,\n" +
+                "Dedupe Same Both,Physics,1200,dedupe.two@example.com,+15551000001,,\n");
+
+        assertEquals(ImportJobStatus.State.COMPLETED, status.getState(), status.getMessage());
+        assertEquals(2, status.getRowsInserted());
+        assertEquals(2, status.getRowsStaged());
+        // Line 3 lost on its email, so its phone is still free for line 4
+        assertEquals(Map.of(
+                3L, "Duplicate email in file: dedupe.one@example.com",
+                5L, "Duplicate phone number in file: +15551000001",
+                6L, "Duplicate email in file: dedupe.two@example.com"), reasons(status));
+        assertEquals("Dedupe Two", repo.findByPhone("+15551000002").orElseThrow().getName());
+    }
+
+    @Test
+    void takesOneIdBlockPerFiftyRowsWithoutCollidingWithHibernate() throws Exception {
+        int rows = 2 * Student.ID_ALLOCATION_SIZE + 20;
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < rows; i++) {
+            csv.append("Pooled ").append(i).append(",Chemistry,1000,pooled").append(i)
+                    .append("@example.com,+1666").append(String.format("%07d", i)).append(",,\n");
+        }
+
+        long before = sequenceValue();
+        ImportJobStatus status = runImport(csv.toString());
+        long after = sequenceValue();
+
+        assertEquals(rows, status.getRowsInserted(), status.getMessage());
+        assertEquals(3L * Student.ID_ALLOCATION_SIZE, after - before, "one nextval per started block of 50");
+
+        // The next block Hibernate takes starts after the imported ids
+        List<Long> imported = repo.findAll().stream()
+                .filter(s -> s.getEmail().startsWith("pooled"))
+                .map(Student::getId)
+                .toList();
+        assertEquals(rows, imported.stream().distinct().count());
+        StudentDTO created = service.saveStudent(student("after.import@example.com", "+17770000001"));
+        assertFalse(imported.contains(created.getId()));
+    }
+
+    @Test
+    void reportsRowsSkippedByOnConflictAsRejected() throws Exception {
+        // Another transaction inserts race.one@example.com after the conflict check and commits
+        // while the import's INSERT waits on it, so ON CONFLICT drops the row
+        try (Connection other = database.connect()) {
+            other.setAutoCommit(false);
+            try (Statement statement = other.createStatement()) {
+                statement.executeUpdate("INSERT INTO students (id, name, course, fee, email, phone, status, version) " +
+                        "VALUES (nextval('students_id_seq'), 'Racer', 'Physics', 1000, 'race.one@example.com', " +
+                        "'+18880000001', 'ACTIVE', 0)");
+            }
+
+            CompletableFuture<ImportJobStatus> running = CompletableFuture.supplyAsync(() -> runImport(HEADER +
+                    "Race One,Physics,1000,race.one@example.com,+18880000002,,\n" +
+                    "Race Two,Physics,1000,race.two@example.com,+18880000003,,\n"));
+            waitForLockWait();
+            other.commit();
+
+            ImportJobStatus status = running.get(1, TimeUnit.MINUTES);
+            assertEquals(ImportJobStatus.State.COMPLETED, status.getState(), status.getMessage());
+            assertEquals(1, status.getRowsInserted());
+            assertEquals(1, status.getRowsStaged());
+            assertEquals(Map.of(2L, "Email already exists: race.one@example.com"), reasons(status));
+        }
+    }
+
+    private ImportJobStatus runImport(String csv) {
+        try {
+            Path file = Files.createTempFile(dir, "import-", ".csv");
+            Files.writeString(file, csv);
+            StudentImportService.ImportJob job = new StudentImportService.ImportJob("test", file.getFileName().toString());
+            importService.runImport(job, file);
+            return job.toStatus();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void waitForLockWait() throws SQLException, InterruptedException {
+        for (int i = 0; i < 600; i++) {
+            try (Connection connection = database.connect(); Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT count(*) FROM pg_stat_activity " +
+                         "WHERE wait_event_type = 'Lock' AND query LIKE '%INSERT INTO students%'")) {
+                rs.next();
+                if (rs.getLong(1) > 0) {
+                    return;
+                }
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("the import never waited for the concurrent insert");
+    }
+
+    private long sequenceValue() throws SQLException {
+        try (Connection connection = database.connect(); Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT last_value FROM students_id_seq")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static Map<Long, String> reasons(ImportJobStatus status) {
+        return status.getRejectedRows().stream().collect(Collectors.toMap(RejectedRow::getLine, RejectedRow::getReason));
+    }
+
+    private static StudentDTO student(String email, String phone) {
+        StudentDTO dto = new StudentDTO();
+        dto.setName("After Import");
+        dto.setCourse("Chemistry");
+        dto.setFee(1000.0);
+        dto.setEmail(email);
+        dto.setPhone(phone);
+        return dto;
+    }
+}
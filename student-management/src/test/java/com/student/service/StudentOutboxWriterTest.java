@@ -0,0 +1,84 @@
+package com.student.service;
+
+import com.student.dto.StudentDTO;
+import com.student.event.StudentChangedEvent;
+import com.student.model.Student;
+import com.student.model.StudentOutboxEvent;
+import com.student.repository.StudentOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentOutboxWriterTest {
+
+    @Autowired
+    private StudentService service;
+
+    @Autowired
+    private StudentOutboxRepository outboxRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Every change of one transaction gets its own row with its own state, numbered in the order it was made
+    @Test
+    void transactionWritesOneRowPerChangeInOrder() {
+        List<StudentDTO> saved = new TransactionTemplate(transactionManager).execute(status -> {
+            StudentDTO first = service.saveStudent(student("Outbox First", 1));
+            StudentDTO second = service.saveStudent(student("Outbox Second", 2));
+            StudentDTO renamed = new StudentDTO();
+            renamed.setName("Outbox Renamed");
+            service.patchStudent(first.getId(), null, renamed);
+            service.deleteStudent(second.getId());
+            return List.of(first, second);
+        });
+        Set<Long> ids = Set.of(saved.get(0).getId(), saved.get(1).getId());
+
+        List<StudentOutboxEvent> rows = outboxRepo.findAll().stream()
+                .filter(row -> ids.contains(row.getStudentId()))
+                .sorted(Comparator.comparing(StudentOutboxEvent::getId))
+                .toList();
+
+        assertEquals(List.of(StudentChangedEvent.Type.CREATED, StudentChangedEvent.Type.CREATED,
+                        StudentChangedEvent.Type.UPDATED, StudentChangedEvent.Type.DELETED),
+                rows.stream().map(StudentOutboxEvent::getType).toList());
+        assertTrue(rows.get(0).getPayload().contains("\"Outbox First\""));
+        assertTrue(rows.get(2).getPayload().contains("\"Outbox Renamed\""));
+        assertTrue(rows.get(3).getPayload().contains("\"Outbox Second\""));
+    }
+
+    @Test
+    void rolledBackTransactionWritesNothing() {
+        long before = outboxRepo.count();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            service.saveStudent(student("Outbox Rolled Back", 3));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(before, outboxRepo.count());
+    }
+
+    private static StudentDTO student(String name, int n) {
+        StudentDTO dto = new StudentDTO();
+        dto.setName(name);
+        dto.setCourse("Outbox");
+        dto.setFee(1200.0);
+        dto.setEmail(name.toLowerCase().replace(' ', '.') + "@example.com");
+        dto.setPhone("+1777" + String.format("%06d", n));
+        dto.setStatus(Student.StudentStatus.ACTIVE);
+        return dto;
+    }
+}
@@ -0,0 +1,80 @@
+package com.student.service;
+
+import com.student.dto.StudentDTO;
+import com.student.dto.StudentSuggestion;
+import com.student.event.StudentChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// The index on its own, filled through its change listener. A common term matches far more students
+// than a single term may collect, the query's rarer term must still find its students among them.
+class StudentSearchIndexTest {
+
+    private static final int STUDENTS = 12000;
+
+    @Test
+    void findsRareMatchesAmongACommonTerm() {
+        StudentSearchIndex index = new StudentSearchIndex();
+        for (int i = 1; i <= STUDENTS; i++) {
+            index.onStudentChanged(StudentChangedEvent.created(student(i, "Common Person", "Physics")));
+        }
+        // "stud" matches one email word per student; student99998 sorts after all of them
+        index.onStudentChanged(StudentChangedEvent.created(student(99998, "Zebulon Person", "Physics")));
+        index.onStudentChanged(StudentChangedEvent.created(student(99999, "Zebulon Other", "Physics")));
+
+        List<StudentSuggestion> found = index.suggest("stud zebul", 10);
+
+        assertEquals(List.of(99999L, 99998L), found.stream().map(StudentSuggestion::getId).toList());
+        // Two prefixes
+        assertEquals(2 + 2, found.get(0).getScore());
+    }
+
+    @Test
+    void scoresTheCommonTermOnEveryCandidate() {
+        StudentSearchIndex index = new StudentSearchIndex();
+        for (int i = 1; i <= STUDENTS; i++) {
+            index.onStudentChanged(StudentChangedEvent.created(student(i, "Common Person", "Physics")));
+        }
+        index.onStudentChanged(StudentChangedEvent.created(student(STUDENTS + 1, "Commonwealth Zebulon", "Physics")));
+        index.onStudentChanged(StudentChangedEvent.created(student(STUDENTS + 2, "Comon Zebulon", "Physics")));
+        index.onStudentChanged(StudentChangedEvent.created(student(STUDENTS + 3, "Common Zebulon", "Physics")));
+
+        List<StudentSuggestion> found = index.suggest("zebulon common", 10);
+
+        // Exact, prefix and fuzzy match of "common", each with the exact "zebulon"
+        assertEquals(List.of((long) STUDENTS + 3, (long) STUDENTS + 1, (long) STUDENTS + 2),
+                found.stream().map(StudentSuggestion::getId).toList());
+        assertEquals(List.of(6, 5, 4), found.stream().map(StudentSuggestion::getScore).toList());
+    }
+
+    // Enough students to fold the delta into a build; later changes must replace the built entries
+    @Test
+    void changesReplaceMergedStudents() {
+        StudentSearchIndex index = new StudentSearchIndex();
+        for (int i = 1; i <= STUDENTS; i++) {
+            index.onStudentChanged(StudentChangedEvent.created(student(i, "Common Person", "Physics")));
+        }
+        StudentDTO before = student(7, "Common Person", "Physics");
+        index.onStudentChanged(StudentChangedEvent.updated(before, student(7, "Xavier Person", "Physics")));
+        index.onStudentChanged(StudentChangedEvent.deleted(student(8, "Common Person", "Physics")));
+
+        assertEquals(List.of(7L), index.suggest("xavier", 10).stream().map(StudentSuggestion::getId).toList());
+        // The exact email word ranks first, student80 and on only match by prefix
+        assertEquals(9L, index.suggest("student9 common", 10).get(0).getId());
+        assertFalse(index.suggest("student8 common", 10).stream().anyMatch(s -> s.getId() == 8L));
+        assertEquals(STUDENTS - 1, index.size());
+    }
+
+    private static StudentDTO student(long id, String name, String course) {
+        StudentDTO dto = new StudentDTO();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setCourse(course);
+        dto.setEmail("student" + id + "@example.com");
+        return dto;
+    }
+}
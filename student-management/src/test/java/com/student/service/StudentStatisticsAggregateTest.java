@@ -0,0 +1,199 @@
+package com.student.service;
+
+import com.student.dto.StudentDTO;
+import com.student.event.StudentChangedEvent;
+import com.student.model.Student;
+import com.student.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentStatisticsAggregateTest {
+
+    private static final String[] COURSES = {"Physics", "Chemistry", "Biology"};
+    private static final int WRITERS = 4;
+    private static final int OPERATIONS = 150;
+
+    private static final String HELD_NAME = "Held Student";
+
+    @TestConfiguration
+    static class CommitGateConfig {
+
+        @Bean
+        CommitGate commitGate() {
+            return new CommitGate();
+        }
+    }
+
+    // Holds the change of HELD_NAME after its commit, before the aggregate's listener applies it
+    static class CommitGate {
+
+        private final CountDownLatch reached = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        @TransactionalEventListener
+        public void onStudentChanged(StudentChangedEvent event) throws InterruptedException {
+            if (event.getAfter() != null && HELD_NAME.equals(event.getAfter().getName())) {
+                reached.countDown();
+                released.await(1, TimeUnit.MINUTES);
+            }
+        }
+    }
+
+    @Autowired
+    private StudentService service;
+
+    @Autowired
+    private StudentStatisticsAggregate aggregate;
+
+    @Autowired
+    private StudentRepository repo;
+
+    @Autowired
+    private CommitGate gate;
+
+    @Test
+    void reconcileSkipsChangesCommittedButNotYetApplied() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            StudentDTO held = student(-1, new Random(0));
+            held.setName(HELD_NAME);
+            Future<StudentDTO> save = pool.submit(() -> service.saveStudent(held));
+            assertTrue(gate.reached.await(1, TimeUnit.MINUTES));
+
+            // The GROUP BY already sees the held student, applying it now would count the student twice
+            assertFalse(aggregate.reconcile());
+
+            gate.released.countDown();
+            save.get(1, TimeUnit.MINUTES);
+        } finally {
+            gate.released.countDown();
+            pool.shutdownNow();
+        }
+
+        assertMatchesDatabase(aggregate.snapshot());
+    }
+
+    @Test
+    void matchesGroupByAfterConcurrentWritesAndReconciles() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            // Reconcile over and over while the writers run, so queries keep overlapping commits
+            Future<Integer> reconciler = pool.submit(() -> {
+                int applied = 0;
+                while (writing.get()) {
+                    if (aggregate.reconcile()) {
+                        applied++;
+                    }
+                }
+                return applied;
+            });
+
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(pool.submit(() -> write(writer)));
+            }
+            for (Future<?> result : writers) {
+                result.get(2, TimeUnit.MINUTES);
+            }
+            writing.set(false);
+            assertTrue(reconciler.get(1, TimeUnit.MINUTES) > 0, "no reconcile was applied while writing");
+        } finally {
+            writing.set(false);
+            pool.shutdownNow();
+        }
+
+        assertMatchesDatabase(aggregate.snapshot());
+    }
+
+    // Each writer only touches its own students, so the operations never conflict with each other
+    private void write(int writer) {
+        Random random = new Random(writer);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            int choice = ids.isEmpty() ? 0 : random.nextInt(4);
+            if (choice <= 1) {
+                ids.add(service.saveStudent(student(writer * OPERATIONS + i, random)).getId());
+            } else if (choice == 2) {
+                Long id = ids.get(random.nextInt(ids.size()));
+                StudentDTO changes = new StudentDTO();
+                changes.setFee(1000.0 + random.nextInt(500));
+                changes.setCourse(COURSES[random.nextInt(COURSES.length)]);
+                changes.setStatus(Student.StudentStatus.values()[random.nextInt(Student.StudentStatus.values().length)]);
+                service.updateStudent(id, changes);
+            } else {
+                service.deleteStudent(ids.remove(random.nextInt(ids.size())));
+            }
+        }
+    }
+
+    private void assertMatchesDatabase(StudentService.StudentStatistics statistics) {
+        assertNotNull(statistics, "aggregate is not loaded");
+        Map<String, double[]> courses = new HashMap<>();
+        Map<String, double[]> statuses = new HashMap<>();
+        long total = 0;
+        for (Object[] row : repo.aggregateByStatusAndCourse()) {
+            long count = ((Number) row[2]).longValue();
+            double fee = ((Number) row[3]).doubleValue();
+            total += count;
+            add(courses, (String) row[1], count, fee);
+            add(statuses, ((Student.StudentStatus) row[0]).name(), count, fee);
+        }
+
+        assertEquals(total, statistics.getTotalStudents());
+        assertEquals(courses.keySet(), statistics.getByCourse().keySet());
+        courses.forEach((course, expected) -> assertBreakdown(course, expected, statistics.getByCourse().get(course)));
+        statuses.forEach((status, expected) -> assertBreakdown(status, expected, statistics.getByStatus().get(status)));
+    }
+
+    private static void add(Map<String, double[]> totals, String key, long count, double fee) {
+        double[] bucket = totals.computeIfAbsent(key, k -> new double[2]);
+        bucket[0] += count;
+        bucket[1] += fee;
+    }
+
+    private static void assertBreakdown(String key, double[] expected, StudentService.Breakdown actual) {
+        assertNotNull(actual, key);
+        assertEquals((long) expected[0], actual.getCount(), key + " count");
+        assertEquals(expected[1], actual.getTotalFee(), 0.001, key + " fee");
+    }
+
+    private static StudentDTO student(int n, Random random) {
+        StudentDTO dto = new StudentDTO();
+        dto.setName("Student " + n);
+        dto.setCourse(COURSES[random.nextInt(COURSES.length)]);
+        dto.setFee(1000.0 + random.nextInt(500));
+        dto.setEmail("student" + n + "@example.com");
+        dto.setPhone("+1555" + String.format("%06d", n + 1));
+        dto.setStatus(Student.StudentStatus.ACTIVE);
+        return dto;
+    }
+}